@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-first-request and resident memory per launch mode.
+#
+#   plain    java -jar on the extracted layout
+#   cds      + class data sharing archive from a training run
+#   aot      + Spring AOT bean definitions (built with -Paot)
+#   aot-cds  + both
+#
+# Needs the database from docker-compose.yml and POSTGRES_DB/POSTGRES_USER/POSTGRES_PASSWORD.
+# Usage: scripts/startup-benchmark.sh [runs-per-mode]
+set -euo pipefail
+
+RUNS=${1:-3}
+PORT=${PORT:-18080}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=${WORK:-${TMPDIR:-/tmp}/task-manager-startup}
+URL="http://localhost:$PORT/api/v0/tasks"
+
+build() {
+    local name=$1; shift
+    (cd "$ROOT" && ${MVN:-./mvnw} -B -q -DskipTests "$@" clean package > /dev/null)
+    local jar
+    jar=$(ls "$ROOT"/target/*.jar | grep -v plain | head -1)
+    rm -rf "$WORK/$name"
+    java -Djarmode=tools -jar "$jar" extract --destination "$WORK/$name"
+}
+
+# Training run: start, refresh the context and exit, dumping the loaded classes
+train_cds() {
+    local dir=$1; shift
+    (cd "$dir" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh "$@" \
+        -jar ./*.jar > /dev/null)
+}
+
+measure() {
+    local mode=$1 dir=$2; shift 2
+    local total_ms=0 total_rss=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local start pid ms rss
+        start=$(date +%s%N)
+        (cd "$dir" && exec java "$@" -Dserver.port="$PORT" -jar ./*.jar > /dev/null 2>&1) &
+        pid=$!
+        until curl -sf -o /dev/null "$URL"; do
+            kill -0 "$pid" 2> /dev/null || { echo "$mode: application exited" >&2; exit 1; }
+            sleep 0.01
+        done
+        ms=$((($(date +%s%N) - start) / 1000000))
+        # RSS of the JVM right after it served the first request
+        rss=$(awk '/VmRSS/ {print int($2 / 1024)}' "/proc/$(pgrep -P "$pid" java || echo "$pid")/status")
+        kill "$pid"; wait "$pid" 2> /dev/null || true
+        total_ms=$((total_ms + ms)); total_rss=$((total_rss + rss))
+    done
+    printf '%-8s %8d ms %8d MB\n' "$mode" $((total_ms / RUNS)) $((total_rss / RUNS))
+}
+
+mkdir -p "$WORK"
+build jvm
+build aot -Paot
+train_cds "$WORK/jvm"
+train_cds "$WORK/aot" -Dspring.aot.enabled=true
+
+printf '%-8s %11s %11s\n' mode first-req rss
+measure plain   "$WORK/jvm"
+measure cds     "$WORK/jvm" -XX:SharedArchiveFile=app.jsa
+measure aot     "$WORK/aot" -Dspring.aot.enabled=true
+measure aot-cds "$WORK/aot" -Dspring.aot.enabled=true -XX:SharedArchiveFile=app.jsa
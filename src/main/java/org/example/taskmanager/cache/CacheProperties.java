@@ -0,0 +1,26 @@
+package org.example.taskmanager.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.cache")
+public class CacheProperties {
+
+    // When disabled no listener runs and every read goes to the database
+    private boolean enabled = true;
+
+    private int maxEntries = 10_000;
+
+    // Must match the channel notified by the tasks trigger
+    private String channel = "task_changed";
+
+    // How long the listener blocks waiting for notifications before checking for shutdown
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+}
@@ -0,0 +1,205 @@
+package org.example.taskmanager.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanager.event.TaskChangeFeedEvent;
+import org.example.taskmanager.event.TaskRowChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Turns Postgres {@code LISTEN} on the channel the {@code tasks} trigger notifies (see migrations
+ * V5/V6) into {@link TaskRowChangedEvent}s for {@link TaskNearCache} and other node-local views.
+ * <p>
+ * Each source (one per shard) gets its own daemon thread with a dedicated connection rather
+ * than a pooled one, so the pool never loses a slot to it. Notifications sent while a connection
+ * is down are lost, so a {@link TaskChangeFeedEvent} tells subscribers when the feed stops and
+ * once {@code LISTEN} is re-established on every source, letting them stop trusting and rebuild
+ * their state.
+ */
+public class TaskChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeListener.class);
+
+    public record Source(String url, String username, String password) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<Source> sources;
+    private final String channel;
+    private final int pollMillis;
+    private final long reconnectDelayMillis;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    // Per source; guarded by this
+    private final boolean[] listening;
+    private final Connection[] connections;
+    private final Thread[] threads;
+
+    public TaskChangeListener(ApplicationEventPublisher eventPublisher, List<Source> sources, String channel,
+                              Duration pollInterval, Duration reconnectDelay) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("channel must be a plain lower-case identifier");
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("at least one source is required");
+        }
+        this.eventPublisher = eventPublisher;
+        this.sources = List.copyOf(sources);
+        this.listening = new boolean[sources.size()];
+        this.connections = new Connection[sources.size()];
+        this.threads = new Thread[sources.size()];
+        this.channel = channel;
+        this.pollMillis = (int) Math.max(1, pollInterval.toMillis());
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        for (int source = 0; source < sources.size(); source++) {
+            int index = source;
+            threads[source] = new Thread(() -> run(index),
+                    sources.size() == 1 ? "task-change-listener" : "task-change-listener-" + source);
+            threads[source].setDaemon(true);
+            threads[source].start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Connection[] open;
+        synchronized (this) {
+            for (int source = 0; source < sources.size(); source++) {
+                listening[source] = false;
+                if (threads[source] != null) {
+                    threads[source].interrupt();
+                }
+            }
+            publishIfChanged();
+            open = connections.clone();
+        }
+        for (Connection connection : open) {
+            closeQuietly(connection);
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void run(int source) {
+        Source target = sources.get(source);
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(target.url(), target.username(),
+                    target.password())) {
+                synchronized (this) {
+                    connections[source] = connection;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything committed before LISTEN took effect was never announced to this node
+                setListening(source, true);
+                log.info("Listening for task changes on '{}' at {}", channel, target.url());
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Task change listener lost its connection, reconnecting", e);
+                }
+            } finally {
+                setListening(source, false);
+                synchronized (this) {
+                    connections[source] = null;
+                }
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    // Payload is "<id>:<version>", version -1 for deleted rows
+    private void apply(String payload) {
+        int separator = payload.indexOf(':');
+        TaskRowChangedEvent event;
+        try {
+            event = new TaskRowChangedEvent(Long.parseLong(payload, 0, separator, 10),
+                    Long.parseLong(payload, separator + 1, payload.length(), 10));
+        } catch (RuntimeException e) {
+            // Can't tell which row it was about; subscribers start over as after a reconnect
+            log.warn("Unreadable task change notification '{}', restarting the feed", payload);
+            restartFeed();
+            return;
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    private synchronized void setListening(int source, boolean up) {
+        // Never report a connection the shutdown has already closed
+        listening[source] = up && running;
+        publishIfChanged();
+    }
+
+    private synchronized void restartFeed() {
+        if (connected) {
+            connected = false;
+            eventPublisher.publishEvent(new TaskChangeFeedEvent(false));
+            publishIfChanged();
+        }
+    }
+
+    // The feed is complete only while every source is listening
+    private void publishIfChanged() {
+        boolean all = running;
+        for (boolean up : listening) {
+            all &= up;
+        }
+        if (connected != all) {
+            connected = all;
+            eventPublisher.publishEvent(new TaskChangeFeedEvent(all));
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // already broken
+        }
+    }
+}
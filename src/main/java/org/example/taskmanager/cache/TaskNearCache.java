@@ -0,0 +1,169 @@
+package org.example.taskmanager.cache;
+
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.event.TaskChangeFeedEvent;
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.event.TaskRowChangedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-local cache of {@link TaskDto}s by id, kept coherent across nodes by change notifications.
+ * <p>
+ * The cache only serves while {@link TaskChangeListener} is connected: every committed change to
+ * {@code tasks} arrives as {@code (id, version)} and removes older cached versions. A read that
+ * loaded its row before a change could otherwise re-insert the old state after the notification,
+ * so fills are checked twice: against the highest version announced for the id, and against a
+ * stamp taken before the load that moves whenever the cache is flushed on a reconnect or the
+ * announced versions are forgotten. Announcements only guard loads already in flight, so once
+ * {@code maxEntries} of them pile up they are dropped and the stamp moved; cached entries stay.
+ */
+public class TaskNearCache {
+
+    static final long DELETED = TaskRowChangedEvent.DELETED;
+
+    private final int maxEntries;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Highest version announced per id; a fill older than that is stale
+    private final ConcurrentMap<Long, Long> announced = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean active;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TaskNearCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public TaskDto get(Long id) {
+        if (!active) {
+            return null;
+        }
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.task;
+    }
+
+    // Taken before loading from the database and handed back to put()
+    public long stamp() {
+        return generation.get();
+    }
+
+    public void put(Long id, long version, TaskDto task, long stamp) {
+        if (!active) {
+            return;
+        }
+        Long floor = announced.get(id);
+        if (floor != null && (floor == DELETED || version < floor)) {
+            return;
+        }
+        entries.merge(id, new Entry(version, task),
+                (current, loaded) -> current.version >= loaded.version ? current : loaded);
+        // A flush or a newer announcement may have raced with the insert; undo it then
+        Long raced = announced.get(id);
+        if (generation.get() != stamp || (raced != null && (raced == DELETED || version < raced))) {
+            entries.remove(id);
+            return;
+        }
+        if (entries.size() > maxEntries) {
+            trim(entries, maxEntries);
+        }
+    }
+
+    // A committed change to the row; version is DELETED for removed tasks
+    public void invalidate(Long id, long version) {
+        announced.merge(id, version, (current, next) ->
+                current == DELETED || next == DELETED ? DELETED : Math.max(current, next));
+        Entry entry = entries.get(id);
+        if (entry != null && (version == DELETED || entry.version < version)) {
+            entries.remove(id, entry);
+            invalidations.increment();
+        }
+        if (announced.size() > maxEntries) {
+            forgetAnnouncements();
+        }
+    }
+
+    public void flush() {
+        generation.incrementAndGet();
+        announced.clear();
+        entries.clear();
+    }
+
+    // Entries are already newer than every announcement; only fills loaded before now could be
+    // stale without them, and moving the stamp first rejects those (put reads announced first)
+    private void forgetAnnouncements() {
+        generation.incrementAndGet();
+        announced.clear();
+    }
+
+    // Serve only while change notifications are flowing; going active always starts empty
+    void setActive(boolean active) {
+        flush();
+        this.active = active;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @EventListener
+    public void onFeedChanged(TaskChangeFeedEvent event) {
+        setActive(event.isConnected());
+    }
+
+    @EventListener
+    public void onRowChanged(TaskRowChangedEvent event) {
+        invalidate(event.getTaskId(), event.getVersion());
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Local writes are also announced by the database; dropping the entry right away keeps
+        // read-your-writes on this node without waiting for the notification
+        entries.remove(event.getTaskId());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private static void trim(ConcurrentMap<Long, ?> map, int maxEntries) {
+        // No recency tracking: drop arbitrary entries down to 90% so trimming isn't per put
+        int excess = map.size() - maxEntries * 9 / 10;
+        Iterator<Long> keys = map.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(long version, TaskDto task) {
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.taskmanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.cache.CacheProperties;
+import org.example.taskmanager.cache.TaskChangeListener;
+import org.example.taskmanager.cache.TaskNearCache;
+import org.example.taskmanager.shard.ShardProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    // Always present; it only serves while the listener below is connected
+    @Bean
+    public TaskNearCache taskNearCache(CacheProperties properties, MeterRegistry meterRegistry) {
+        TaskNearCache cache = new TaskNearCache(properties.getMaxEntries());
+        Gauge.builder("task.cache.size", cache, TaskNearCache::size)
+                .register(meterRegistry);
+        Gauge.builder("task.cache.active", cache, c -> c.isActive() ? 1 : 0)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.cache.hits", cache, TaskNearCache::getHits)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.cache.misses", cache, TaskNearCache::getMisses)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.cache.invalidations", cache, TaskNearCache::getInvalidations)
+                .register(meterRegistry);
+        return cache;
+    }
+
+    // Listens on every shard
+    @Bean
+    @ConditionalOnProperty(prefix = "task.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TaskChangeListener taskChangeListener(ApplicationEventPublisher eventPublisher,
+                                                 CacheProperties properties,
+                                                 DataSourceProperties dataSourceProperties,
+                                                 ShardProperties shardProperties) {
+        List<TaskChangeListener.Source> sources = shardProperties.resolve(dataSourceProperties).stream()
+                .map(shard -> new TaskChangeListener.Source(shard.getUrl(), shard.getUsername(), shard.getPassword()))
+                .toList();
+        return new TaskChangeListener(eventPublisher, sources, properties.getChannel(),
+                properties.getPollInterval(), properties.getReconnectDelay());
+    }
+}
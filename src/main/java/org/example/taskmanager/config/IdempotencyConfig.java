@@ -0,0 +1,52 @@
+package org.example.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanager.idempotency.IdempotencyFilter;
+import org.example.taskmanager.idempotency.IdempotencyProperties;
+import org.example.taskmanager.idempotency.IdempotencyStore;
+import org.example.taskmanager.idempotency.InMemoryIdempotencyStore;
+import org.example.taskmanager.idempotency.JpaIdempotencyStore;
+import org.example.taskmanager.repository.IdempotencyRecordRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "task.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "task.idempotency", name = "store", havingValue = "jdbc")
+    public JpaIdempotencyStore jpaIdempotencyStore(IdempotencyRecordRepository repository,
+                                                   IdempotencyProperties properties) {
+        return new JpaIdempotencyStore(repository, inMemoryStore(properties), properties.getPendingTtl());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return inMemoryStore(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                       IdempotencyProperties properties,
+                                                                       ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, properties.getHeader(), properties.getMaxKeyLength(),
+                        properties.getTtl(), properties.getWaitTimeout(), objectMapper));
+        registration.addUrlPatterns("/api/v0/tasks/*");
+        // Right after load shedding, so replays never reach the controller
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    private static InMemoryIdempotencyStore inMemoryStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getMaxEntries(), properties.getPendingTtl());
+    }
+}
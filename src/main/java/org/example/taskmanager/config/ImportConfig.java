@@ -0,0 +1,36 @@
+package org.example.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.example.taskmanager.importer.ImportProperties;
+import org.example.taskmanager.importer.TaskImporter;
+import org.example.taskmanager.repository.ImportJobRecordRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+@ConditionalOnProperty(prefix = "task.import", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ImportConfig {
+
+    @Bean
+    public TaskImporter taskImporter(DataSource dataSource, TaskShards taskShards,
+                                     ImportJobRecordRepository jobRepository, Validator validator,
+                                     ObjectMapper objectMapper, ImportProperties properties,
+                                     MeterRegistry meterRegistry) {
+        TaskImporter taskImporter = new TaskImporter(dataSource, taskShards, jobRepository, validator, objectMapper,
+                properties.getChunkSize(), properties.getMaxErrorRows(), properties.getRetainedJobs(),
+                properties.getMaxConcurrentJobs(), properties.getMaxQueuedJobs(),
+                properties.getMaxUploadBytes(), properties.getJobRetention(), properties.getStaleAfter());
+        Gauge.builder("task.import.running", taskImporter, TaskImporter::getRunningJobs)
+                .register(meterRegistry);
+        return taskImporter;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.limiter.AdaptiveConcurrencyLimiter;
+import org.example.taskmanager.limiter.ClientRateLimiter;
+import org.example.taskmanager.limiter.ConcurrencyLimitFilter;
+import org.example.taskmanager.limiter.LimiterProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(LimiterProperties.class)
+@ConditionalOnProperty(prefix = "task.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(LimiterProperties properties,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter readLimiter = limiter(properties, properties.getRead());
+        AdaptiveConcurrencyLimiter writeLimiter = limiter(properties, properties.getWrite());
+        registerGauges(meterRegistry, "read", readLimiter);
+        registerGauges(meterRegistry, "write", writeLimiter);
+
+        LimiterProperties.Client client = properties.getClient();
+        ClientRateLimiter clientRateLimiter = null;
+        if (client.isEnabled()) {
+            clientRateLimiter = new ClientRateLimiter(client.getCapacity(), client.getRefillPerSecond(),
+                    client.getMaxClients());
+            Gauge.builder("task.limiter.clients", clientRateLimiter, ClientRateLimiter::getTrackedClients)
+                    .register(meterRegistry);
+        }
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(readLimiter, writeLimiter, clientRateLimiter, client.getHeader(),
+                        objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v0/tasks/*");
+        // Shed load before any other filter spends time on the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(LimiterProperties properties, LimiterProperties.Budget budget) {
+        return new AdaptiveConcurrencyLimiter(budget.getInitialLimit(), budget.getMinLimit(),
+                budget.getMaxLimit(), properties.getTolerance(), properties.getWindowSize());
+    }
+
+    private static void registerGauges(MeterRegistry registry, String budget, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("task.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("budget", budget)
+                .register(registry);
+        Gauge.builder("task.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("budget", budget)
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.taskmanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.loader.LoaderProperties;
+import org.example.taskmanager.loader.TaskBatchLoader;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoaderProperties.class)
+public class LoaderConfig {
+
+    @Bean
+    public TaskBatchLoader taskBatchLoader(TaskRepository taskRepository, TaskShards taskShards,
+                                           LoaderProperties properties, MeterRegistry meterRegistry) {
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, taskShards, properties.isEnabled(),
+                properties.getWindow(), properties.getMaxBatchSize());
+        FunctionCounter.builder("task.loader.queries", loader, TaskBatchLoader::getQueries)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.loader.keys", loader, TaskBatchLoader::getKeysLoaded)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.loader.coalesced", loader, TaskBatchLoader::getCoalesced)
+                .register(meterRegistry);
+        return loader;
+    }
+}
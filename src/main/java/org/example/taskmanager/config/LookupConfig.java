@@ -0,0 +1,47 @@
+package org.example.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.lookup.KnownTaskIds;
+import org.example.taskmanager.lookup.LookupProperties;
+import org.example.taskmanager.lookup.NegativeLookupFilter;
+import org.example.taskmanager.lookup.TaskIdBitmap;
+import org.example.taskmanager.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(LookupProperties.class)
+// Sharded ids are far too sparse for the bitmap, so the filter is left out when sharding is on
+@ConditionalOnExpression("${task.lookup.enabled:true} and !${task.shard.enabled:false}")
+public class LookupConfig {
+
+    @Bean
+    public KnownTaskIds knownTaskIds(TaskRepository taskRepository, LookupProperties properties,
+                                     MeterRegistry meterRegistry) {
+        KnownTaskIds knownTaskIds = new KnownTaskIds(taskRepository, new TaskIdBitmap(properties.getMaxId()),
+                properties.getPageSize());
+        Gauge.builder("task.lookup.ready", knownTaskIds, ids -> ids.isReady() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("task.lookup.bytes", knownTaskIds, KnownTaskIds::estimatedBytes)
+                .register(meterRegistry);
+        return knownTaskIds;
+    }
+
+    @Bean
+    public FilterRegistrationBean<NegativeLookupFilter> negativeLookupFilter(KnownTaskIds knownTaskIds,
+                                                                             ObjectMapper objectMapper,
+                                                                             MeterRegistry meterRegistry) {
+        FilterRegistrationBean<NegativeLookupFilter> registration = new FilterRegistrationBean<>(
+                new NegativeLookupFilter(knownTaskIds, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v0/tasks/*");
+        // After load shedding and per-client limits so scrapers stay throttled, before idempotency
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.taskmanager.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.repository.SchedulerLeaseRepository;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.example.taskmanager.scheduler.DueDateScheduler;
+import org.example.taskmanager.scheduler.SchedulerProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(SchedulerProperties.class)
+@ConditionalOnProperty(prefix = "task.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulerConfig {
+
+    @Bean
+    public DueDateScheduler dueDateScheduler(TaskRepository taskRepository,
+                                             TaskShards taskShards,
+                                             SchedulerLeaseRepository leaseRepository,
+                                             TransactionTemplate transactionTemplate,
+                                             ApplicationEventPublisher eventPublisher,
+                                             SchedulerProperties properties,
+                                             MeterRegistry meterRegistry) {
+        DueDateScheduler scheduler = new DueDateScheduler(taskRepository, taskShards, leaseRepository,
+                transactionTemplate, eventPublisher, properties);
+        Gauge.builder("task.scheduler.scheduled", scheduler, DueDateScheduler::size)
+                .register(meterRegistry);
+        Gauge.builder("task.scheduler.leader", scheduler, s -> s.isLeader() ? 1 : 0)
+                .register(meterRegistry);
+        return scheduler;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.shard.ShardProperties;
+import org.example.taskmanager.shard.ShardRoutingDataSource;
+import org.example.taskmanager.shard.ShardSchema;
+import org.example.taskmanager.shard.TaskShards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardConfig {
+
+    // Replaces the auto-configured pool; every shard gets the spring.datasource.hikari settings
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "task.shard", name = "enabled", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                         ShardProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> pools = new ArrayList<>();
+        List<ShardProperties.Shard> shards = properties.resolve(dataSourceProperties);
+        for (int shard = 0; shard < shards.size(); shard++) {
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("task-shard-" + shard);
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setJdbcUrl(shards.get(shard).getUrl());
+            pool.setUsername(shards.get(shard).getUsername());
+            pool.setPassword(shards.get(shard).getPassword());
+            pools.add(pool);
+        }
+        return new ShardRoutingDataSource(pools);
+    }
+
+    // Runs before JPA starts, so every shard is on the current schema and claimed by then
+    @Bean
+    @ConditionalOnProperty(prefix = "task.shard", name = "enabled", havingValue = "true")
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> ShardSchema.migrate(flyway, dataSource.getShards());
+    }
+
+    @Bean
+    public TaskShards taskShards(ObjectProvider<ShardRoutingDataSource> routingDataSource,
+                                 ShardProperties properties, MeterRegistry meterRegistry) {
+        ShardRoutingDataSource routing = routingDataSource.getIfAvailable();
+        TaskShards shards = routing == null ? TaskShards.single()
+                : new TaskShards(routing.getShards().size(), properties.getScatterThreads());
+        Gauge.builder("task.shard.count", shards, TaskShards::count)
+                .register(meterRegistry);
+        return shards;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.taskmanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.example.taskmanager.writer.TaskWriteBatcher;
+import org.example.taskmanager.writer.WriterProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(WriterProperties.class)
+public class WriterConfig {
+
+    @Bean
+    public TaskWriteBatcher taskWriteBatcher(TaskRepository taskRepository, TaskShards taskShards,
+                                             PlatformTransactionManager transactionManager,
+                                             WriterProperties properties, MeterRegistry meterRegistry) {
+        TaskWriteBatcher writer = new TaskWriteBatcher(taskRepository, taskShards,
+                new TransactionTemplate(transactionManager), properties.isEnabled(), properties.getWindow(),
+                properties.getMaxBatchSize(), properties.getQueueCapacity());
+        FunctionCounter.builder("task.writer.batches", writer, TaskWriteBatcher::getBatches)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.writer.writes", writer, TaskWriteBatcher::getWrites)
+                .register(meterRegistry);
+        FunctionCounter.builder("task.writer.fallbacks", writer, TaskWriteBatcher::getFallbacks)
+                .register(meterRegistry);
+        Gauge.builder("task.writer.queued", writer, TaskWriteBatcher::getQueued)
+                .register(meterRegistry);
+        return writer;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.taskmanager.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.taskmanager.dto.ImportJobStatus;
+import org.example.taskmanager.exception.ImportJobNotFoundException;
+import org.example.taskmanager.exception.UnsupportedImportFormatException;
+import org.example.taskmanager.exception.UploadTooLargeException;
+import org.example.taskmanager.importer.ImportFormat;
+import org.example.taskmanager.importer.ImportJob;
+import org.example.taskmanager.importer.TaskImporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+// Kept off api/v0/tasks so uploads bypass the limiter's latency samples and idempotency body buffering
+@RestController
+@RequestMapping("api/v0/task-imports")
+@ConditionalOnProperty(prefix = "task.import", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskImportController {
+
+    private final TaskImporter taskImporter;
+
+    public TaskImportController(TaskImporter taskImporter) {
+        this.taskImporter = taskImporter;
+    }
+
+    // Start an import from a text/csv or application/x-ndjson body
+    @PostMapping
+    public ResponseEntity<ImportJobStatus> startImport(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        if (format == null) {
+            throw new UnsupportedImportFormatException("Content-Type must be text/csv or application/x-ndjson");
+        }
+        // Declared oversize uploads are refused before reading; undeclared ones while spooling
+        if (request.getContentLengthLong() > taskImporter.getMaxUploadBytes()) {
+            throw new UploadTooLargeException("Upload is larger than " + taskImporter.getMaxUploadBytes() + " bytes");
+        }
+        // Raw stream rather than a @RequestBody so the upload is never held in memory
+        ImportJob job = taskImporter.submit(format, request.getInputStream());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job.toStatus());
+    }
+
+    // Get the progress of an import
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobStatus> getImport(@PathVariable String jobId) {
+        ImportJob job = taskImporter.find(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job not found with id: " + jobId));
+        return ResponseEntity.ok(job.toStatus());
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.taskmanager.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+public class ImportJobStatus {
+    private String id;
+    private String format;
+    private String state;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long chunksCommitted;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // Set when the job stopped early; rows of already committed chunks stay imported
+    private String failure;
+    // The first rejected rows, capped
+    private List<RowError> errors;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class TaskDto {
     private TaskStatus status;
     @FutureOrPresent(message = "Due date must be in the present or future")
     private LocalDateTime dueDate;
+    private boolean overdue;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,14 @@
+package org.example.taskmanager.event;
+
+import lombok.Getter;
+
+// The stream of TaskRowChangedEvents started (connected) or stopped; changes made while it was down are lost
+@Getter
+public class TaskChangeFeedEvent {
+
+    private final boolean connected;
+
+    public TaskChangeFeedEvent(boolean connected) {
+        this.connected = connected;
+    }
+}
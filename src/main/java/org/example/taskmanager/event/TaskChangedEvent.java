@@ -0,0 +1,38 @@
+package org.example.taskmanager.event;
+
+import lombok.Getter;
+import org.example.taskmanager.dto.TaskDto;
+
+// Published by TaskServiceImpl after a task was created, updated or deleted
+@Getter
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    // State after the change; null for deletions
+    private final TaskDto task;
+
+    public TaskChangedEvent(Type type, Long taskId, TaskDto task) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    public static TaskChangedEvent created(TaskDto task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task);
+    }
+
+    public static TaskChangedEvent updated(TaskDto task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null);
+    }
+}
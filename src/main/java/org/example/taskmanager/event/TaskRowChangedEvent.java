@@ -0,0 +1,23 @@
+package org.example.taskmanager.event;
+
+import lombok.Getter;
+
+// A committed change to a tasks row announced by the database, made on any node
+@Getter
+public class TaskRowChangedEvent {
+
+    public static final long DELETED = -1;
+
+    private final long taskId;
+    // Row version after the change, DELETED once the row is gone
+    private final long version;
+
+    public TaskRowChangedEvent(long taskId, long version) {
+        this.taskId = taskId;
+        this.version = version;
+    }
+
+    public boolean isDeleted() {
+        return version == DELETED;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.taskmanager.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// Published by the due-date engine for every batch of tasks it has just flagged overdue
+@Getter
+public class TasksOverdueEvent {
+
+    private final List<Long> taskIds;
+
+    public TasksOverdueEvent(List<Long> taskIds) {
+        this.taskIds = List.copyOf(taskIds);
+    }
+}
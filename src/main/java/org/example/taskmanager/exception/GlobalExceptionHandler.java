@@ -5,6 +5,7 @@ import org.example.taskmanager.dto.ErrorResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,47 @@ public class GlobalExceptionHandler {
         ), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        return new ResponseEntity<>(new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                ex.getMessage()
+        ), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(UnsupportedImportFormatException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedImportFormat(UnsupportedImportFormatException ex) {
+        return new ResponseEntity<>(new ErrorResponse(
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                ex.getMessage()
+        ), HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @ExceptionHandler(TooManyImportsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyImports(TooManyImportsException ex) {
+        return new ResponseEntity<>(new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage()
+        ), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleUploadTooLarge(UploadTooLargeException ex) {
+        return new ResponseEntity<>(new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                ex.getMessage()
+        ), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    // Another write committed between this request's read and its update (tasks carry a @Version)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Task was modified by a concurrent request, retry the update"
+        ), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,7 @@
+package org.example.taskmanager.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,6 +2,7 @@ package org.example.taskmanager.exception;
 
 public class TaskNotFoundException extends RuntimeException {
     public TaskNotFoundException(String message) {
-        super(message);
+        // Expected outcome answered with a 404, so skip the costly stack trace
+        super(message, null, false, false);
     }
 }
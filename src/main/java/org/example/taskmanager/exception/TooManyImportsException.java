@@ -0,0 +1,7 @@
+package org.example.taskmanager.exception;
+
+public class TooManyImportsException extends RuntimeException {
+    public TooManyImportsException(String message) {
+        super(message);
+    }
+}
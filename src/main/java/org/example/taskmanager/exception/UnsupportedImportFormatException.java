@@ -0,0 +1,7 @@
+package org.example.taskmanager.exception;
+
+public class UnsupportedImportFormatException extends RuntimeException {
+    public UnsupportedImportFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.taskmanager.exception;
+
+public class UploadTooLargeException extends RuntimeException {
+    public UploadTooLargeException(String message) {
+        super(message);
+    }
+}
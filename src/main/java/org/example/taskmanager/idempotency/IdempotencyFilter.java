@@ -0,0 +1,273 @@
+package org.example.taskmanager.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.taskmanager.dto.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST and PATCH requests carrying an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key executes and its response (anything but a 5xx or 409) is stored;
+ * retries get that response replayed without reaching the controller. Duplicates arriving
+ * while the first one is still running wait for it instead of executing a second time.
+ * Reusing a key with a different payload is rejected with 422.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    // How often to re-check the store while another node holds the key
+    private static final long REMOTE_POLL_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final String headerName;
+    private final int maxKeyLength;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, String headerName, int maxKeyLength, Duration ttl,
+                             Duration waitTimeout, ObjectMapper objectMapper) {
+        this.store = store;
+        this.headerName = headerName;
+        this.maxKeyLength = maxKeyLength;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("POST".equals(method) || "PATCH".equals(method)) || request.getHeader(headerName) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(headerName);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > maxKeyLength) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    headerName + " must be between 1 and " + maxKeyLength + " characters");
+            return;
+        }
+
+        // Scope keys to the endpoint so the same key can't replay a response of another operation
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(body);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            IdempotentResponse stored = store.find(key);
+            if (stored != null) {
+                replay(stored, requestHash, response);
+                return;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                reject(response, HttpStatus.CONFLICT,
+                        "A request with this " + headerName + " is still being processed");
+                return;
+            }
+
+            CompletableFuture<IdempotentResponse> execution = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, execution);
+            if (running != null) {
+                // Same key in flight on this node: wait for its outcome
+                IdempotentResponse result = await(running, remaining);
+                if (result != null) {
+                    replay(result, requestHash, response);
+                    return;
+                }
+                // It failed (nothing stored) or we timed out; look again, possibly claiming the key ourselves
+                continue;
+            }
+
+            String claimToken;
+            try {
+                claimToken = store.claim(key, requestHash);
+            } catch (RuntimeException e) {
+                // Otherwise every later duplicate on this node waits on an execution that never finishes
+                inFlight.remove(key, execution);
+                execution.complete(null);
+                throw e;
+            }
+            if (claimToken != null) {
+                execute(key, claimToken, requestHash, new CachedBodyRequest(request, body), response, chain,
+                        execution);
+                return;
+            }
+            // Completed meanwhile, or being executed by another node: poll the shared store
+            inFlight.remove(key, execution);
+            execution.complete(null);
+            sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(REMOTE_POLL_MILLIS)));
+        }
+    }
+
+    private void execute(String key, String claimToken, String requestHash, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain chain,
+                         CompletableFuture<IdempotentResponse> execution) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        IdempotentResponse result = null;
+        try {
+            chain.doFilter(request, responseWrapper);
+            if (isFinal(responseWrapper.getStatus())) {
+                IdempotentResponse executed = new IdempotentResponse(requestHash, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(),
+                        Instant.now().plus(ttl));
+                if (store.complete(key, claimToken, executed)) {
+                    result = executed;
+                } else {
+                    // Another request took over the key; local duplicates go back to the store for its outcome
+                    log.warn("Idempotency claim on '{}' lapsed before its request finished", key);
+                }
+            }
+        } finally {
+            if (result == null) {
+                store.release(key, claimToken);
+            }
+            inFlight.remove(key, execution);
+            execution.complete(result);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    // 5xx and 409 (a concurrent write won) are transient: the key is released so a retry executes again
+    private static boolean isFinal(int status) {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value() && status != HttpStatus.CONFLICT.value();
+    }
+
+    private void replay(IdempotentResponse stored, String requestHash, HttpServletResponse response)
+            throws IOException {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    headerName + " was already used with a different request payload");
+            return;
+        }
+        response.setStatus(stored.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static IdempotentResponse await(CompletableFuture<IdempotentResponse> running, long timeoutNanos)
+            throws IOException {
+        try {
+            return running.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a duplicate request", e);
+        }
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a duplicate request", e);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Request whose body was already read once for hashing
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
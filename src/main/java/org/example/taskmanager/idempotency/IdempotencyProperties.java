@@ -0,0 +1,37 @@
+package org.example.taskmanager.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    private String header = "Idempotency-Key";
+
+    private int maxKeyLength = 255;
+
+    // How long a stored response is replayed for
+    private Duration ttl = Duration.ofHours(24);
+
+    // Upper bound of keys kept in memory per instance
+    private int maxEntries = 10_000;
+
+    // How long a duplicate waits for the first request before getting 409
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    // Lease of a pending claim; renewed while its request runs, so it only lapses when the node dies
+    private Duration pendingTtl = Duration.ofMinutes(1);
+
+    // How often running requests renew their pending claims; well below pendingTtl
+    private Duration renewInterval = Duration.ofSeconds(10);
+
+    // "memory" keeps keys per instance, "jdbc" shares them through the idempotency_keys table
+    private String store = "memory";
+}
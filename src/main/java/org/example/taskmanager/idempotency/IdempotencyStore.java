@@ -0,0 +1,20 @@
+package org.example.taskmanager.idempotency;
+
+/**
+ * Storage of idempotency keys. A key is first claimed by the request that executes it,
+ * then either completed with the response to replay or released if execution failed.
+ * Both only take effect while the claim that returned the token still owns the key.
+ */
+public interface IdempotencyStore {
+
+    // Completed, non-expired response for the key, or null
+    IdempotentResponse find(String key);
+
+    // Reserve the key for execution; the claim's token, or null if it is already claimed or completed
+    String claim(String key, String requestHash);
+
+    // False if the claim was lost (it expired and the key was claimed again), nothing is stored then
+    boolean complete(String key, String claimToken, IdempotentResponse response);
+
+    void release(String key, String claimToken);
+}
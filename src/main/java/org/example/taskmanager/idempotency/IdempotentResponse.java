@@ -0,0 +1,21 @@
+package org.example.taskmanager.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Response recorded for an Idempotency-Key, replayed verbatim for retries
+@Getter
+@AllArgsConstructor
+public class IdempotentResponse {
+    private final String requestHash;
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.taskmanager.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded LRU store of idempotency keys with expiry. Pending claims count towards
+ * the bound as well but are never evicted while their request is running.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final IdempotentResponse PENDING =
+            new IdempotentResponse(null, 0, null, new byte[0], Instant.MAX);
+
+    private final int maxEntries;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+    private final Map<String, IdempotentResponse> entries;
+    private final Map<String, Claim> claims = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration pendingTimeout) {
+        this(maxEntries, pendingTimeout, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, Duration pendingTimeout, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.pendingTimeout = pendingTimeout;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+                return size() > InMemoryIdempotencyStore.this.maxEntries && eldest.getValue() != PENDING;
+            }
+        };
+    }
+
+    @Override
+    public synchronized IdempotentResponse find(String key) {
+        IdempotentResponse response = entries.get(key);
+        if (response == null || response == PENDING) {
+            return null;
+        }
+        if (response.isExpired(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    @Override
+    public synchronized String claim(String key, String requestHash) {
+        Instant now = clock.instant();
+        IdempotentResponse existing = entries.get(key);
+        if (existing == PENDING) {
+            // A claim whose request never finished (e.g. the thread died) must not block the key forever
+            if (claims.get(key).claimedAt().plus(pendingTimeout).isAfter(now)) {
+                return null;
+            }
+        } else if (existing != null && !existing.isExpired(now)) {
+            return null;
+        }
+        String token = UUID.randomUUID().toString();
+        entries.put(key, PENDING);
+        claims.put(key, new Claim(token, now));
+        return token;
+    }
+
+    @Override
+    public synchronized boolean complete(String key, String claimToken, IdempotentResponse response) {
+        if (!owns(key, claimToken)) {
+            return false;
+        }
+        claims.remove(key);
+        entries.put(key, response);
+        return true;
+    }
+
+    @Override
+    public synchronized void release(String key, String claimToken) {
+        if (owns(key, claimToken)) {
+            claims.remove(key);
+            entries.remove(key, PENDING);
+        }
+    }
+
+    // Caches a response completed elsewhere, e.g. read from the shared store
+    synchronized void put(String key, IdempotentResponse response) {
+        claims.remove(key);
+        entries.put(key, response);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean owns(String key, String claimToken) {
+        Claim claim = claims.get(key);
+        return claim != null && claim.token().equals(claimToken) && entries.get(key) == PENDING;
+    }
+
+    private record Claim(String token, Instant claimedAt) {
+    }
+}
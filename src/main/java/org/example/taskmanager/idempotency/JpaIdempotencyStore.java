@@ -0,0 +1,114 @@
+package org.example.taskmanager.idempotency;
+
+import org.example.taskmanager.model.IdempotencyRecord;
+import org.example.taskmanager.repository.IdempotencyRecordRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency keys shared by all instances through the {@code idempotency_keys} table.
+ * Completed responses are also kept in a local in-memory tier so hot retries skip the DB.
+ * Claims are plain inserts, so two nodes racing on the same key can't both execute it.
+ * A pending claim carries a token and its lease is renewed while the request runs, so it only
+ * lapses if the claiming node dies; a claim that lapsed anyway can no longer complete the key.
+ */
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final InMemoryIdempotencyStore localCache;
+    private final Duration pendingTtl;
+    // Pending claims held by requests running on this node, by key
+    private final Map<String, String> claims = new ConcurrentHashMap<>();
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository, InMemoryIdempotencyStore localCache,
+                               Duration pendingTtl) {
+        this.repository = repository;
+        this.localCache = localCache;
+        this.pendingTtl = pendingTtl;
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        IdempotentResponse cached = localCache.find(key);
+        if (cached != null) {
+            return cached;
+        }
+        return repository.findById(key)
+                .filter(record -> record.getStatus() != null && record.getExpiresAt().isAfter(Instant.now()))
+                .map(record -> {
+                    IdempotentResponse response = toResponse(record);
+                    localCache.put(key, response);
+                    return response;
+                })
+                .orElse(null);
+    }
+
+    @Override
+    public String claim(String key, String requestHash) {
+        Instant now = Instant.now();
+        repository.deleteIfExpired(key, now);
+
+        String token = UUID.randomUUID().toString();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setRequestHash(requestHash);
+        record.setClaimToken(token);
+        // A pending claim expires on its own if the claiming node dies mid-request
+        record.setExpiresAt(now.plus(pendingTtl));
+        try {
+            repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+        claims.put(key, token);
+        return token;
+    }
+
+    @Override
+    public boolean complete(String key, String claimToken, IdempotentResponse response) {
+        claims.remove(key, claimToken);
+        int updated = repository.complete(key, claimToken, response.getStatus(), response.getContentType(),
+                new String(response.getBody(), StandardCharsets.UTF_8), response.getExpiresAt());
+        if (updated == 0) {
+            return false;
+        }
+        localCache.put(key, response);
+        return true;
+    }
+
+    @Override
+    public void release(String key, String claimToken) {
+        claims.remove(key, claimToken);
+        repository.deletePending(key, claimToken);
+    }
+
+    // Keeps the claims of requests still running here from expiring, however long they take
+    @Scheduled(fixedDelayString = "${task.idempotency.renew-interval:PT10S}")
+    public void renewClaims() {
+        Instant expiresAt = Instant.now().plus(pendingTtl);
+        claims.forEach((key, token) -> {
+            if (repository.renewPending(key, token, expiresAt) == 0) {
+                // Completed or released meanwhile, or lapsed and claimed again elsewhere
+                claims.remove(key, token);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${task.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+
+    private static IdempotentResponse toResponse(IdempotencyRecord record) {
+        byte[] body = record.getBody() != null ? record.getBody().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return new IdempotentResponse(record.getRequestHash(), record.getStatus(), record.getContentType(),
+                body, record.getExpiresAt());
+    }
+}
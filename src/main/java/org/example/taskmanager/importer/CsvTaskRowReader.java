@@ -0,0 +1,188 @@
+package org.example.taskmanager.importer;
+
+import org.example.taskmanager.dto.TaskCreateRequest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns: {@code title} (required), {@code description}
+ * and {@code dueDate} (ISO-8601 local date-time), in any order; other columns are ignored.
+ * Quoted fields may contain commas, doubled quotes and line breaks. Empty fields are null.
+ */
+class CsvTaskRowReader implements TaskRowReader {
+
+    // Well above the validated title/description sizes; bounds memory on an unterminated quote
+    static final int MAX_FIELD_LENGTH = 16 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private boolean oversized;
+    // Physical line the reader is on; records can span lines
+    private long line = 1;
+
+    private final int titleColumn;
+    private final int descriptionColumn;
+    private final int dueDateColumn;
+
+    CsvTaskRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        int title = -1;
+        int description = -1;
+        int dueDate = -1;
+        if (readRecord()) {
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i);
+                // Byte order mark left by spreadsheet exports
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1);
+                }
+                name = name.strip().toLowerCase(Locale.ROOT);
+                switch (name) {
+                    case "title" -> title = i;
+                    case "description" -> description = i;
+                    case "duedate", "due_date" -> dueDate = i;
+                    default -> {
+                        // not a task field
+                    }
+                }
+            }
+        }
+        if (title < 0) {
+            throw new IllegalArgumentException("CSV header must name a title column");
+        }
+        this.titleColumn = title;
+        this.descriptionColumn = description;
+        this.dueDateColumn = dueDate;
+    }
+
+    @Override
+    public TaskRow next() throws IOException {
+        while (true) {
+            long recordLine = line;
+            if (!readRecord()) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.getFirst().isEmpty()) {
+                continue;
+            }
+            if (oversized) {
+                return TaskRow.invalid(recordLine, "Field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            TaskCreateRequest request = new TaskCreateRequest();
+            request.setTitle(column(titleColumn));
+            request.setDescription(column(descriptionColumn));
+            String dueDate = column(dueDateColumn);
+            if (dueDate != null) {
+                try {
+                    request.setDueDate(LocalDateTime.parse(dueDate.strip()));
+                } catch (DateTimeParseException e) {
+                    return TaskRow.invalid(recordLine, "Due date must be an ISO-8601 date-time");
+                }
+            }
+            return TaskRow.parsed(recordLine, request);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String column(int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // Reads the next record into fields; false at end of input
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        oversized = false;
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = read()) != -1) {
+            any = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    append(ch);
+                }
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                break;
+            } else {
+                append(ch);
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    private void append(char ch) {
+        if (field.length() < MAX_FIELD_LENGTH) {
+            field.append(ch);
+        } else {
+            oversized = true;
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.taskmanager.importer;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    // Null for content types that can't be imported
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (TEXT_CSV.isCompatibleWith(mediaType)) {
+            return CSV;
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+            return NDJSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.taskmanager.importer;
+
+import lombok.Getter;
+import org.example.taskmanager.dto.ImportJobStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Progress of one import; written by its worker thread only, read by status requests.
+// Jobs running elsewhere (or before a restart) are restored from their persisted status.
+@Getter
+public class ImportJob {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final ImportFormat format;
+    private final int maxErrorRows;
+    private final List<ImportJobStatus.RowError> errors = new ArrayList<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile long rowsRead;
+    private volatile long rowsImported;
+    private volatile long rowsRejected;
+    private volatile long chunksCommitted;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    ImportJob(String id, ImportFormat format, int maxErrorRows) {
+        this.id = id;
+        this.format = format;
+        this.maxErrorRows = maxErrorRows;
+    }
+
+    static ImportJob restore(ImportJobStatus status, int maxErrorRows) {
+        ImportJob job = new ImportJob(status.getId(), ImportFormat.valueOf(status.getFormat()), maxErrorRows);
+        job.state = State.valueOf(status.getState());
+        job.rowsRead = status.getRowsRead();
+        job.rowsImported = status.getRowsImported();
+        job.rowsRejected = status.getRowsRejected();
+        job.chunksCommitted = status.getChunksCommitted();
+        job.startedAt = status.getStartedAt();
+        job.finishedAt = status.getFinishedAt();
+        job.failure = status.getFailure();
+        job.errors.addAll(status.getErrors());
+        return job;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public ImportJobStatus toStatus() {
+        ImportJobStatus status = new ImportJobStatus();
+        status.setId(id);
+        status.setFormat(format.name());
+        status.setState(state.name());
+        status.setRowsRead(rowsRead);
+        status.setRowsImported(rowsImported);
+        status.setRowsRejected(rowsRejected);
+        status.setChunksCommitted(chunksCommitted);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setFailure(failure);
+        if (startedAt != null) {
+            Duration elapsed = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now());
+            status.setElapsedMillis(elapsed.toMillis());
+            status.setRowsPerSecond(elapsed.isZero() ? 0 : rowsImported * 1e9 / elapsed.toNanos());
+        }
+        synchronized (errors) {
+            status.setErrors(List.copyOf(errors));
+        }
+        return status;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void rowRejected(long line, String message) {
+        rowsRejected++;
+        synchronized (errors) {
+            if (errors.size() < maxErrorRows) {
+                errors.add(new ImportJobStatus.RowError(line, message));
+            }
+        }
+    }
+
+    void chunkCommitted(long rows) {
+        rowsImported += rows;
+        chunksCommitted++;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String message) {
+        failure = message;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.taskmanager.importer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.import")
+public class ImportProperties {
+
+    private boolean enabled = true;
+
+    // Rows per COPY; each chunk commits on its own, so a failed import keeps the chunks before it
+    private int chunkSize = 5_000;
+
+    // Imports running at once, each using one pooled connection per COPY
+    private int maxConcurrentJobs = 2;
+
+    // Uploads waiting for a worker before new ones are refused with 503
+    private int maxQueuedJobs = 8;
+
+    // Rejected rows reported per job; the rest are only counted
+    private int maxErrorRows = 100;
+
+    // Finished jobs whose status is kept in memory for polling on the node that ran them
+    private int retainedJobs = 100;
+
+    // How long finished jobs stay in the import_jobs table
+    private Duration jobRetention = Duration.ofDays(7);
+
+    // How often running and queued jobs flush their progress, besides after every chunk
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    // Unfinished jobs not flushed for this long are reported as failed: their node went down
+    private Duration staleAfter = Duration.ofMinutes(2);
+
+    // Largest upload spooled to disk; bigger ones are refused with 413
+    private long maxUploadBytes = 256L * 1024 * 1024;
+}
@@ -0,0 +1,78 @@
+package org.example.taskmanager.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.taskmanager.dto.TaskCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// One TaskCreateRequest JSON object per line; blank lines are skipped
+class NdjsonTaskRowReader implements TaskRowReader {
+
+    // Well above the JSON of a valid task; bounds memory on a line that never ends
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private final StringBuilder text = new StringBuilder();
+    private boolean oversized;
+    private long line;
+
+    NdjsonTaskRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.objectReader = objectMapper.readerFor(TaskCreateRequest.class);
+    }
+
+    @Override
+    public TaskRow next() throws IOException {
+        while (readLine()) {
+            line++;
+            if (oversized) {
+                return TaskRow.invalid(line, "Line longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            String json = text.toString();
+            if (!json.isBlank()) {
+                try {
+                    return TaskRow.parsed(line, objectReader.readValue(json));
+                } catch (JsonProcessingException e) {
+                    return TaskRow.invalid(line, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Like readLine, but keeps at most MAX_LINE_LENGTH characters and skips the rest; false at end of input
+    private boolean readLine() throws IOException {
+        text.setLength(0);
+        oversized = false;
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            }
+            if (text.length() < MAX_LINE_LENGTH) {
+                text.append((char) c);
+            } else {
+                oversized = true;
+            }
+            c = reader.read();
+        }
+        return true;
+    }
+}
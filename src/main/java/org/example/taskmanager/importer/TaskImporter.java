@@ -0,0 +1,401 @@
+package org.example.taskmanager.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.taskmanager.dto.ImportJobStatus;
+import org.example.taskmanager.dto.TaskCreateRequest;
+import org.example.taskmanager.exception.TooManyImportsException;
+import org.example.taskmanager.exception.UploadTooLargeException;
+import org.example.taskmanager.model.ImportJobRecord;
+import org.example.taskmanager.model.TaskStatus;
+import org.example.taskmanager.repository.ImportJobRecordRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of tasks from CSV or NDJSON uploads through the Postgres COPY protocol.
+ * <p>
+ * The upload is spooled to a temp file so the request can return right away; a worker then streams
+ * it record by record, validates every row with the {@link TaskCreateRequest} constraints and
+ * sends valid rows with {@code COPY tasks ... FROM STDIN} in chunks of {@code chunkSize}, each
+ * chunk its own transaction on the next shard in turn. Rows bypass {@code TaskServiceImpl}:
+ * other components learn about them through the {@code tasks} trigger notifications and the
+ * scheduler's {@code updated_at} pull.
+ * <p>
+ * Job progress is persisted in {@code import_jobs} on shard 0 when the job is queued, starts,
+ * commits a chunk and finishes, so status polls work on every node and across restarts. The
+ * node running a job also keeps it in memory and serves its polls from there.
+ */
+public class TaskImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImporter.class);
+
+    private static final TypeReference<List<ImportJobStatus.RowError>> ROW_ERRORS = new TypeReference<>() {
+    };
+
+    // overdue and version take their column defaults
+    static final String COPY_SQL = "COPY tasks (title, description, status, due_date, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final TaskShards taskShards;
+    private final ImportJobRecordRepository jobRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrorRows;
+    private final int retainedJobs;
+    private final long maxUploadBytes;
+    private final Duration jobRetention;
+    private final Duration staleAfter;
+    private final ThreadPoolExecutor executor;
+
+    // Most recent jobs, oldest evicted first
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public TaskImporter(DataSource dataSource, TaskShards taskShards, ImportJobRecordRepository jobRepository,
+                        Validator validator, ObjectMapper objectMapper, int chunkSize, int maxErrorRows,
+                        int retainedJobs, int maxConcurrentJobs, int maxQueuedJobs, long maxUploadBytes,
+                        Duration jobRetention, Duration staleAfter) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.dataSource = dataSource;
+        this.taskShards = taskShards;
+        this.jobRepository = jobRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrorRows = maxErrorRows;
+        this.retainedJobs = retainedJobs;
+        this.maxUploadBytes = maxUploadBytes;
+        this.jobRetention = jobRetention;
+        this.staleAfter = staleAfter;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueuedJobs)), runnable -> {
+            Thread thread = new Thread(runnable, "task-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Spools the upload and queues the import
+    public ImportJob submit(ImportFormat format, InputStream upload) throws IOException {
+        // Checked up front so a rejected upload isn't spooled first
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new TooManyImportsException("Too many imports pending, retry later");
+        }
+        Path file = Files.createTempFile("task-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                spool(upload, out);
+            }
+            ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxErrorRows);
+            register(job);
+            try {
+                // Persisted before it is queued so every node can answer polls for it right away
+                save(job);
+                executor.execute(() -> run(job, file));
+            } catch (RejectedExecutionException e) {
+                unregister(job);
+                jobRepository.deleteById(job.getId());
+                throw new TooManyImportsException("Too many imports pending, retry later");
+            } catch (RuntimeException e) {
+                unregister(job);
+                throw e;
+            }
+            return job;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    public Optional<ImportJob> find(String jobId) {
+        synchronized (jobs) {
+            ImportJob job = jobs.get(jobId);
+            if (job != null) {
+                return Optional.of(job);
+            }
+        }
+        // Accepted by another node, or by this one before a restart
+        return jobRepository.findById(jobId).map(this::restore);
+    }
+
+    public int getRunningJobs() {
+        return executor.getActiveCount();
+    }
+
+    // Keeps unfinished jobs from looking stale while a long chunk or a long queue wait holds up their flushes
+    @Scheduled(fixedDelayString = "${task.import.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        List<ImportJob> unfinished;
+        synchronized (jobs) {
+            unfinished = jobs.values().stream().filter(job -> !job.isFinished()).toList();
+        }
+        unfinished.forEach(this::flush);
+    }
+
+    @Scheduled(fixedDelayString = "${task.import.purge-interval:PT1H}")
+    public void purgeFinished() {
+        jobRepository.deleteFinishedBefore(Instant.now().minus(jobRetention));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        // Queued jobs will never start; running ones fail on their own once they see the interrupt
+        List<ImportJob> queued;
+        synchronized (jobs) {
+            queued = jobs.values().stream().filter(job -> job.getState() == ImportJob.State.QUEUED).toList();
+        }
+        for (ImportJob job : queued) {
+            job.fail("Import cancelled by shutdown");
+            flush(job);
+        }
+        try {
+            // Let interrupted workers persist their final state before the data source goes away
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void run(ImportJob job, Path file) {
+        job.start();
+        flush(job);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             TaskRowReader rows = TaskRowReader.open(job.getFormat(), reader, objectMapper)) {
+            List<TaskCreateRequest> chunk = new ArrayList<>(chunkSize);
+            TaskRow row;
+            while ((row = rows.next()) != null) {
+                job.rowRead();
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    job.rowRejected(row.line(), error);
+                    continue;
+                }
+                chunk.add(row.request());
+                if (chunk.size() == chunkSize) {
+                    job.chunkCommitted(copy(chunk));
+                    flush(job);
+                    chunk.clear();
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IOException("Import interrupted by shutdown");
+                }
+            }
+            if (!chunk.isEmpty()) {
+                job.chunkCommitted(copy(chunk));
+            }
+            job.complete();
+            log.info("Import {} finished: {} rows imported, {} rejected", job.getId(), job.getRowsImported(),
+                    job.getRowsRejected());
+        } catch (IOException | SQLException | RuntimeException e) {
+            log.warn("Import {} failed after {} rows", job.getId(), job.getRowsImported(), e);
+            job.fail(e.getMessage());
+        } finally {
+            flush(job);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}", file, e);
+            }
+        }
+    }
+
+    // Copies the upload to the spool file, stopping once it passes maxUploadBytes
+    private void spool(InputStream upload, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = upload.read(buffer)) != -1) {
+            total += read;
+            if (total > maxUploadBytes) {
+                throw new UploadTooLargeException("Upload is larger than " + maxUploadBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private String validate(TaskCreateRequest request) {
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // Postgres text can't hold U+0000: COPY would refuse the whole chunk and fail the job
+        if (containsNul(request.getTitle()) || containsNul(request.getDescription())) {
+            return "Title and description cannot contain NUL characters";
+        }
+        return null;
+    }
+
+    private static boolean containsNul(String value) {
+        return value != null && value.indexOf('\0') >= 0;
+    }
+
+    // One COPY, committed on return since the connection is in auto-commit mode
+    private long copy(List<TaskCreateRequest> chunk) throws SQLException, IOException {
+        // Stamped right before the COPY, like @CreationTimestamp right before an insert
+        String now = LocalDateTime.now().toString();
+        StringBuilder csv = new StringBuilder(chunk.size() * 128);
+        for (TaskCreateRequest request : chunk) {
+            appendField(csv, request.getTitle()).append(',');
+            appendField(csv, request.getDescription()).append(',');
+            csv.append(TaskStatus.PENDING.name()).append(',');
+            if (request.getDueDate() != null) {
+                csv.append(request.getDueDate());
+            }
+            csv.append(',').append(now).append(',').append(now).append('\n');
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        try (Connection connection = taskShards.on(taskShards.nextShard(), dataSource::getConnection)) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return copyManager.copyIn(COPY_SQL, new ByteArrayInputStream(bytes));
+        }
+    }
+
+    // Quoted so an empty string stays distinct from NULL (an unquoted empty field)
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            var oldest = jobs.entrySet().iterator();
+            while (jobs.size() > retainedJobs && oldest.hasNext()) {
+                if (oldest.next().getValue().isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    private void unregister(ImportJob job) {
+        synchronized (jobs) {
+            jobs.remove(job.getId());
+        }
+    }
+
+    // Locked per job so a heartbeat can't write an older snapshot over the worker's newer one
+    private void save(ImportJob job) {
+        synchronized (job) {
+            jobRepository.save(toRecord(job.toStatus()));
+        }
+    }
+
+    // Best effort from the worker: a lagging status must not fail the import itself
+    private void flush(ImportJob job) {
+        try {
+            save(job);
+        } catch (RuntimeException e) {
+            log.warn("Could not persist the progress of import {}", job.getId(), e);
+        }
+    }
+
+    private ImportJobRecord toRecord(ImportJobStatus status) {
+        ImportJobRecord record = new ImportJobRecord();
+        record.setId(status.getId());
+        record.setFormat(status.getFormat());
+        record.setState(status.getState());
+        record.setRowsRead(status.getRowsRead());
+        record.setRowsImported(status.getRowsImported());
+        record.setRowsRejected(status.getRowsRejected());
+        record.setChunksCommitted(status.getChunksCommitted());
+        record.setStartedAt(status.getStartedAt());
+        record.setFinishedAt(status.getFinishedAt());
+        record.setFailure(status.getFailure());
+        record.setUpdatedAt(Instant.now());
+        try {
+            record.setErrors(objectMapper.writeValueAsString(status.getErrors()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the row errors of import " + status.getId(), e);
+        }
+        return record;
+    }
+
+    private ImportJob restore(ImportJobRecord record) {
+        ImportJobStatus status = new ImportJobStatus();
+        status.setId(record.getId());
+        status.setFormat(record.getFormat());
+        status.setState(record.getState());
+        status.setRowsRead(record.getRowsRead());
+        status.setRowsImported(record.getRowsImported());
+        status.setRowsRejected(record.getRowsRejected());
+        status.setChunksCommitted(record.getChunksCommitted());
+        status.setStartedAt(record.getStartedAt());
+        status.setFinishedAt(record.getFinishedAt());
+        status.setFailure(record.getFailure());
+        try {
+            status.setErrors(record.getErrors() != null ? objectMapper.readValue(record.getErrors(), ROW_ERRORS)
+                    : List.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read the row errors of import " + record.getId(), e);
+        }
+        ImportJob job = ImportJob.restore(status, maxErrorRows);
+        // Its node stopped flushing without finishing it, so it went down mid-import
+        if (!job.isFinished() && record.getUpdatedAt().isBefore(Instant.now().minus(staleAfter))) {
+            status.setState(ImportJob.State.FAILED.name());
+            status.setFinishedAt(record.getUpdatedAt());
+            status.setFailure("Import was abandoned: the node running it stopped reporting progress");
+            job = ImportJob.restore(status, maxErrorRows);
+        }
+        return job;
+    }
+}
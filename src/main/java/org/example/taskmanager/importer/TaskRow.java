@@ -0,0 +1,15 @@
+package org.example.taskmanager.importer;
+
+import org.example.taskmanager.dto.TaskCreateRequest;
+
+// One input record: the parsed request, or why it could not be parsed
+record TaskRow(long line, TaskCreateRequest request, String error) {
+
+    static TaskRow parsed(long line, TaskCreateRequest request) {
+        return new TaskRow(line, request, null);
+    }
+
+    static TaskRow invalid(long line, String error) {
+        return new TaskRow(line, null, error);
+    }
+}
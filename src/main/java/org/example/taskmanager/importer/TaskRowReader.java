@@ -0,0 +1,21 @@
+package org.example.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+// Streams an upload record by record; nothing beyond the current record is held in memory
+interface TaskRowReader extends Closeable {
+
+    // Null once the input is exhausted
+    TaskRow next() throws IOException;
+
+    static TaskRowReader open(ImportFormat format, Reader reader, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvTaskRowReader(reader);
+            case NDJSON -> new NdjsonTaskRowReader(reader, objectMapper);
+        };
+    }
+}
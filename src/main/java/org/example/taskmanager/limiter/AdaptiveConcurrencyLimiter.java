@@ -0,0 +1,118 @@
+package org.example.taskmanager.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter whose limit follows observed latency (gradient algorithm).
+ * <p>
+ * Every {@code windowSize} samples the average latency of the window is compared with the
+ * lowest latency seen so far (the "no load" latency). While latency stays within
+ * {@code tolerance} times that baseline the limit grows by roughly {@code sqrt(limit)};
+ * once queueing makes it slower the limit shrinks proportionally. Dropped requests
+ * (errors/timeouts) force a multiplicative decrease.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+    // Re-base the no-load latency on the best window of the last N so it can move up again
+    private static final int BASELINE_PERIOD_WINDOWS = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int windowSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Window state, guarded by "this"
+    private long noLoadRttNanos = Long.MAX_VALUE;
+    private long periodMinRttNanos = Long.MAX_VALUE;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+    private int windows;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, int windowSize) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("tolerance must be >= 1.0");
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowSize = windowSize;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // Reserve a slot without blocking; false means the caller must shed the request
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Give the slot back and feed the observed latency into the algorithm
+    public void release(long rttNanos, boolean dropped) {
+        int observedInFlight = inFlight.getAndDecrement();
+        onSample(rttNanos, observedInFlight, dropped);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int observedInFlight, boolean dropped) {
+        windowRttSum += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, observedInFlight);
+        windowDropped |= dropped;
+        if (++windowSamples < windowSize) {
+            return;
+        }
+
+        long windowRtt = Math.max(1, windowRttSum / windowSamples);
+        periodMinRttNanos = Math.min(periodMinRttNanos, windowRtt);
+        noLoadRttNanos = Math.min(noLoadRttNanos, windowRtt);
+        if (++windows % BASELINE_PERIOD_WINDOWS == 0) {
+            noLoadRttNanos = periodMinRttNanos;
+            periodMinRttNanos = Long.MAX_VALUE;
+        }
+
+        int current = limit;
+        double newLimit;
+        if (windowDropped) {
+            newLimit = current * DROP_BACKOFF;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT,
+                    Math.min(1.0, tolerance * noLoadRttNanos / windowRtt));
+            // Don't grow while the application isn't using the limit it already has
+            boolean appLimited = windowMaxInFlight * 2 < current;
+            double queueSize = gradient < 1.0 || appLimited ? 0 : Math.sqrt(current);
+            newLimit = current * gradient + queueSize;
+        }
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(newLimit)));
+
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+}
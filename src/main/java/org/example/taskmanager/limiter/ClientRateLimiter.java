@@ -0,0 +1,55 @@
+package org.example.taskmanager.limiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets. The number of tracked clients is bounded: once
+ * {@code maxClients} is reached, buckets idle long enough to be full again are evicted.
+ */
+public class ClientRateLimiter {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double capacity;
+    private final double refillPerSecond;
+    private final int maxClients;
+    private final long idleNanos;
+    private final TokenBucket overflow;
+
+    public ClientRateLimiter(double capacity, double refillPerSecond, int maxClients) {
+        if (capacity < 1 || refillPerSecond <= 0 || maxClients < 1) {
+            throw new IllegalArgumentException("capacity, refillPerSecond and maxClients must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxClients = maxClients;
+        // A bucket idle for this long has refilled completely, so dropping it changes nothing
+        this.idleNanos = (long) (TimeUnit.SECONDS.toNanos(1) * capacity / refillPerSecond);
+        this.overflow = new TokenBucket(capacity, refillPerSecond);
+    }
+
+    public boolean tryConsume(String clientKey) {
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evictIdle();
+                if (buckets.size() >= maxClients) {
+                    // Still full of active clients: newcomers share one bucket instead of growing the map
+                    return overflow.tryConsume();
+                }
+            }
+            bucket = buckets.computeIfAbsent(clientKey, k -> new TokenBucket(capacity, refillPerSecond));
+        }
+        return bucket.tryConsume();
+    }
+
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> now - bucket.getLastRefillNanos() >= idleNanos);
+    }
+}
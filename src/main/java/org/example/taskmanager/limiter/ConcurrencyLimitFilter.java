@@ -0,0 +1,98 @@
+package org.example.taskmanager.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.taskmanager.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load in front of the task API. Reads and writes get separate adaptive
+ * concurrency budgets; clients can optionally be rate limited individually.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ClientRateLimiter clientRateLimiter;
+    private final String clientHeader;
+    private final ObjectMapper objectMapper;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final Counter clientRejected;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter,
+                                  AdaptiveConcurrencyLimiter writeLimiter,
+                                  ClientRateLimiter clientRateLimiter,
+                                  String clientHeader,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.clientRateLimiter = clientRateLimiter;
+        this.clientHeader = clientHeader;
+        this.objectMapper = objectMapper;
+        this.readRejected = rejectedCounter(meterRegistry, "read");
+        this.writeRejected = rejectedCounter(meterRegistry, "write");
+        this.clientRejected = rejectedCounter(meterRegistry, "client");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        if (clientRateLimiter != null && !clientRateLimiter.tryConsume(clientKey(request))) {
+            clientRejected.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests from this client");
+            return;
+        }
+
+        boolean read = isRead(request.getMethod());
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            (read ? readRejected : writeRejected).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    // The header is only as trustworthy as whoever sets it, so it is opt-in
+    private String clientKey(HttpServletRequest request) {
+        String key = clientHeader != null ? request.getHeader(clientHeader) : null;
+        return key != null && !key.isBlank() ? key : request.getRemoteAddr();
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String budget) {
+        return Counter.builder("task.limiter.rejected")
+                .tag("budget", budget)
+                .register(registry);
+    }
+}
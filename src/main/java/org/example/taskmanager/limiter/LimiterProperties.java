@@ -0,0 +1,52 @@
+package org.example.taskmanager.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.limiter")
+public class LimiterProperties {
+
+    private boolean enabled = true;
+
+    // Allowed latency increase over the no-load latency before the limit shrinks
+    private double tolerance = 2.0;
+
+    // Number of completed requests per limit adjustment
+    private int windowSize = 50;
+
+    private Budget read = new Budget(40, 4, 200);
+    private Budget write = new Budget(20, 2, 100);
+    private Client client = new Client();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Budget() {
+        }
+
+        public Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private boolean enabled = false;
+        // Clients are keyed by remote address. Only name a header a trusted proxy sets: callers
+        // choosing its value themselves get a fresh bucket per value
+        private String header;
+        private double capacity = 50;
+        private double refillPerSecond = 25;
+        private int maxClients = 10_000;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.taskmanager.loader;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.loader")
+public class LoaderProperties {
+
+    // When disabled every lookup goes straight to findById
+    private boolean enabled = true;
+
+    // How long a batch stays open for more ids while another batch query is running
+    private Duration window = Duration.ofNanos(200_000);
+
+    private int maxBatchSize = 100;
+}
@@ -0,0 +1,200 @@
+package org.example.taskmanager.loader;
+
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DataLoader-style coalescing of concurrent lookups by id.
+ * <p>
+ * Concurrent loads of the same id share one result (single-flight). Distinct ids are gathered
+ * into a batch: the first caller of a batch waits up to {@code window} or until
+ * {@code maxBatchSize} ids joined, then runs a single {@code WHERE id IN (...)} query on its
+ * own thread and hands every waiter its row. When no other batch query is running the batch
+ * is dispatched immediately, so an idle service pays no extra latency. With several shards the
+ * batch becomes one query per shard it touches.
+ */
+public class TaskBatchLoader {
+
+    private final TaskRepository taskRepository;
+    private final TaskShards taskShards;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<Long, CompletableFuture<Optional<Task>>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    private final AtomicInteger runningQueries = new AtomicInteger();
+    private Batch collecting;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder keysLoaded = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public TaskBatchLoader(TaskRepository taskRepository, TaskShards taskShards, boolean enabled, Duration window,
+                           int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.taskShards = taskShards;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Optional<Task> load(Long id) {
+        if (!enabled) {
+            queries.increment();
+            keysLoaded.increment();
+            return taskShards.on(taskShards.ownerOf(id), () -> taskRepository.findById(id));
+        }
+
+        CompletableFuture<Optional<Task>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<Task>> running = inFlight.putIfAbsent(id, future);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        Batch batch;
+        boolean leader;
+        lock.lock();
+        try {
+            leader = collecting == null;
+            if (leader) {
+                collecting = new Batch();
+            }
+            batch = collecting;
+            batch.add(id, future);
+            if (batch.size() >= maxBatchSize) {
+                collecting = null;
+                batchFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            waitForBatch(batch);
+            dispatch(batch);
+        }
+        return await(future);
+    }
+
+    // A write must not be answered by a read that started before it
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        inFlight.remove(event.getTaskId());
+    }
+
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    public long getKeysLoaded() {
+        return keysLoaded.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private void waitForBatch(Batch batch) {
+        lock.lock();
+        try {
+            // Only hold the batch open while the database is already busy with another one
+            long remaining = runningQueries.get() > 0 ? windowNanos : 0;
+            while (collecting == batch && remaining > 0) {
+                remaining = batchFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (collecting == batch) {
+                collecting = null;
+            }
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        runningQueries.incrementAndGet();
+        try {
+            keysLoaded.add(batch.size());
+            Map<Long, Task> found = new HashMap<>();
+            for (Map.Entry<Integer, List<Long>> shard : byShard(batch.ids).entrySet()) {
+                queries.increment();
+                for (Task task : taskShards.on(shard.getKey(), () -> taskRepository.findAllById(shard.getValue()))) {
+                    found.put(task.getId(), task);
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Long id = batch.ids.get(i);
+                inFlight.remove(id, batch.futures.get(i));
+                batch.futures.get(i).complete(Optional.ofNullable(found.get(id)));
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                inFlight.remove(batch.ids.get(i), batch.futures.get(i));
+                batch.futures.get(i).completeExceptionally(e);
+            }
+        } finally {
+            runningQueries.decrementAndGet();
+        }
+    }
+
+    private Map<Integer, List<Long>> byShard(List<Long> ids) {
+        if (taskShards.count() == 1) {
+            return Map.of(0, ids);
+        }
+        Map<Integer, List<Long>> byShard = new HashMap<>();
+        for (Long id : ids) {
+            byShard.computeIfAbsent(taskShards.ownerOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        return byShard;
+    }
+
+    private static Optional<Task> await(CompletableFuture<Optional<Task>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Batch {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<CompletableFuture<Optional<Task>>> futures = new ArrayList<>();
+
+        void add(Long id, CompletableFuture<Optional<Task>> future) {
+            ids.add(id);
+            futures.add(future);
+        }
+
+        int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.taskmanager.lookup;
+
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanager.event.TaskChangeFeedEvent;
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.event.TaskRowChangedEvent;
+import org.example.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local view of which task ids exist, answering "definitely not" without a query.
+ * <p>
+ * The {@link TaskIdBitmap} is rebuilt from the database every time the task change feed
+ * connects, and kept current from local writes and {@link TaskRowChangedEvent}s for writes on
+ * other nodes. A missing bit is only trusted below a settled mark that trails the highest known id
+ * by one settle period: an id is allocated before its insert commits and is announced, so a
+ * freshly created id (maybe still in flight on another node) always falls through to the database.
+ * While the feed is down nothing is trusted. Stale set bits are harmless, they only cost a query.
+ */
+public class KnownTaskIds {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownTaskIds.class);
+
+    private static final long REBUILD_RETRY_MILLIS = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskIdBitmap bitmap;
+    private final int pageSize;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-id-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Bumped whenever the feed connects or drops, so a rebuild started earlier gives up
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong highestId = new AtomicLong();
+    private volatile boolean ready;
+    private volatile long settledId;
+    private long settlingId;
+
+    public KnownTaskIds(TaskRepository taskRepository, TaskIdBitmap bitmap, int pageSize) {
+        this.taskRepository = taskRepository;
+        this.bitmap = bitmap;
+        this.pageSize = pageSize;
+    }
+
+    public boolean mightExist(long id) {
+        if (!ready || id > settledId) {
+            return true;
+        }
+        return bitmap.contains(id);
+    }
+
+    @EventListener
+    public void onFeedChanged(TaskChangeFeedEvent event) {
+        long rebuild;
+        synchronized (this) {
+            rebuild = generation.incrementAndGet();
+            ready = false;
+        }
+        if (event.isConnected()) {
+            rebuilder.execute(() -> rebuildUntilDone(rebuild));
+        }
+    }
+
+    @EventListener
+    public void onRowChanged(TaskRowChangedEvent event) {
+        if (event.isDeleted()) {
+            bitmap.remove(event.getTaskId());
+        } else {
+            add(event.getTaskId());
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            bitmap.remove(event.getTaskId());
+        } else {
+            add(event.getTaskId());
+        }
+    }
+
+    // Ids known one period ago are old enough that a missing bit really means a missing row
+    @Scheduled(fixedDelayString = "${task.lookup.settle-delay:PT2S}")
+    public synchronized void settle() {
+        settledId = Math.min(settlingId, bitmap.getMaxId());
+        settlingId = highestId.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long estimatedBytes() {
+        return bitmap.estimatedBytes();
+    }
+
+    private void rebuildUntilDone(long rebuild) {
+        while (generation.get() == rebuild) {
+            try {
+                rebuild(rebuild);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Negative-lookup filter rebuild failed, retrying", e);
+            }
+            try {
+                Thread.sleep(REBUILD_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void rebuild(long rebuild) {
+        synchronized (this) {
+            settledId = 0;
+            settlingId = 0;
+        }
+        bitmap.clear();
+        long afterId = 0;
+        int loaded = 0;
+        while (generation.get() == rebuild) {
+            List<Long> page = taskRepository.findIdsAfter(afterId, PageRequest.of(0, pageSize));
+            for (Long id : page) {
+                add(id);
+            }
+            loaded += page.size();
+            if (page.size() < pageSize) {
+                synchronized (this) {
+                    if (generation.get() != rebuild) {
+                        return;
+                    }
+                    settlingId = highestId.get();
+                    ready = true;
+                }
+                log.info("Negative-lookup filter rebuilt with {} task ids", loaded);
+                return;
+            }
+            afterId = page.getLast();
+        }
+    }
+
+    private void add(long id) {
+        if (bitmap.add(id)) {
+            highestId.accumulateAndGet(id, Math::max);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.taskmanager.lookup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.lookup")
+public class LookupProperties {
+
+    // Needs the task change feed (task.cache.enabled); without it every request passes through
+    private boolean enabled = true;
+
+    // Ids above this aren't tracked and always go to the database (bitmap takes maxId / 8 bytes)
+    private long maxId = 1L << 31;
+
+    // How long a new id counts as possibly in flight on another node
+    private Duration settleDelay = Duration.ofSeconds(2);
+
+    // Ids per page when rebuilding from the database
+    private int pageSize = 50_000;
+}
@@ -0,0 +1,114 @@
+package org.example.taskmanager.lookup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.taskmanager.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Answers {@code GET/PATCH/DELETE api/v0/tasks/{id}} for ids that {@link KnownTaskIds} knows
+ * don't exist, before the request reaches the controller: no query, no exception, no JSON
+ * serialization. The body is the same {@link ErrorResponse} the exception handler would produce,
+ * assembled from bytes rendered once at startup around the id.
+ */
+public class NegativeLookupFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/api/v0/tasks/";
+    private static final String ID_MARKER = "{id}";
+    // Longest id that fits a long without overflow checks
+    private static final int MAX_ID_DIGITS = 18;
+
+    private final KnownTaskIds knownTaskIds;
+    private final byte[] bodyPrefix;
+    private final byte[] bodySuffix;
+    private final Counter shortCircuited;
+
+    public NegativeLookupFilter(KnownTaskIds knownTaskIds, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.knownTaskIds = knownTaskIds;
+        byte[] template = render(objectMapper);
+        byte[] marker = ID_MARKER.getBytes(StandardCharsets.US_ASCII);
+        int at = indexOf(template, marker);
+        this.bodyPrefix = Arrays.copyOfRange(template, 0, at);
+        this.bodySuffix = Arrays.copyOfRange(template, at + marker.length, template.length);
+        this.shortCircuited = Counter.builder("task.lookup.short-circuited").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"PATCH".equals(method) && !"DELETE".equals(method);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long id = parseId(request);
+        if (id < 0 || knownTaskIds.mightExist(id)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        shortCircuited.increment();
+        byte[] digits = Long.toString(id).getBytes(StandardCharsets.US_ASCII);
+        response.setStatus(HttpStatus.NOT_FOUND.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bodyPrefix.length + digits.length + bodySuffix.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(bodyPrefix);
+        out.write(digits);
+        out.write(bodySuffix);
+    }
+
+    // The id of a single-task path, or -1 for anything else (left to the controller)
+    private static long parseId(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int start = request.getContextPath().length() + PATH.length();
+        int length = uri.length() - start;
+        if (length < 1 || length > MAX_ID_DIGITS || !uri.startsWith(PATH, start - PATH.length())) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    private static byte[] render(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(HttpStatus.NOT_FOUND.value(),
+                    "Task with ID " + ID_MARKER + " not found"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render the not-found response", e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        outer:
+        for (int i = 0; i <= bytes.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("Id marker not found in the rendered not-found response");
+    }
+}
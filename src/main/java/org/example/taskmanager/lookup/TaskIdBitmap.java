@@ -0,0 +1,77 @@
+package org.example.taskmanager.lookup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Growable bitmap of task ids, one bit per id. Ids come from an {@code IDENTITY} sequence, so
+ * the set is dense and 10M tasks fit in about 1.2MB.
+ * <p>
+ * Reads are lock-free; writers serialize on the bitmap so growing it never loses a bit.
+ */
+public class TaskIdBitmap {
+
+    private final long maxId;
+    private volatile AtomicLongArray words;
+
+    public TaskIdBitmap(long maxId) {
+        if (maxId < 1 || maxId >= (long) Integer.MAX_VALUE << 6) {
+            throw new IllegalArgumentException("maxId must be between 1 and " + ((long) Integer.MAX_VALUE << 6));
+        }
+        this.maxId = maxId;
+        this.words = new AtomicLongArray(1024);
+    }
+
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        long word = id >>> 6;
+        return word < current.length() && (current.get((int) word) & (1L << id)) != 0;
+    }
+
+    // False when the id is beyond maxId and therefore not tracked
+    public synchronized boolean add(long id) {
+        if (id < 0 || id > maxId) {
+            return false;
+        }
+        int word = (int) (id >>> 6);
+        AtomicLongArray current = words;
+        if (word >= current.length()) {
+            current = grow(current, word);
+        }
+        current.getAndUpdate(word, bits -> bits | (1L << id));
+        return true;
+    }
+
+    public synchronized void remove(long id) {
+        AtomicLongArray current = words;
+        long word = id >>> 6;
+        if (id >= 0 && word < current.length()) {
+            current.getAndUpdate((int) word, bits -> bits & ~(1L << id));
+        }
+    }
+
+    public synchronized void clear() {
+        words = new AtomicLongArray(1024);
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public long estimatedBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private AtomicLongArray grow(AtomicLongArray current, int word) {
+        long limit = (maxId >>> 6) + 1;
+        int length = (int) Math.min(limit, Math.max((long) word + 1, (long) current.length() * 2));
+        AtomicLongArray grown = new AtomicLongArray(length);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        words = grown;
+        return grown;
+    }
+}
@@ -17,6 +17,7 @@ public class TaskMapper {
         dto.setDescription(task.getDescription());
         dto.setStatus(task.getStatus());
         dto.setDueDate(task.getDueDate());
+        dto.setOverdue(task.isOverdue());
         dto.setCreatedAt(task.getCreatedAt());
         dto.setUpdatedAt(task.getUpdatedAt());
         return dto;
@@ -0,0 +1,57 @@
+package org.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Identifies the claim executing the request; completing and releasing require it
+    @Column(length = 36)
+    private String claimToken;
+
+    // Null while the first request is still executing
+    private Integer status;
+
+    private String contentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Always inserted through persist() so a concurrent claim fails on the primary key
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "import_jobs")
+@Getter
+@Setter
+public class ImportJobRecord {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 16)
+    private String format;
+
+    @Column(nullable = false, length = 16)
+    private String state;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsRejected;
+
+    private long chunksCommitted;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String failure;
+
+    // The reported row errors as a JSON array
+    @Column(columnDefinition = "TEXT")
+    private String errors;
+
+    // Bumped by every flush of a running job, so jobs of a node that died can be told apart
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
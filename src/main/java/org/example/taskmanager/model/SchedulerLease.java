@@ -0,0 +1,44 @@
+package org.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+public class SchedulerLease implements Persistable<String> {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Only ever inserted through persist() so two nodes can't both create the lease
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -9,7 +9,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_due_date", columnList = "dueDate"),
+        @Index(name = "idx_tasks_updated_at", columnList = "updatedAt")
+})
 @Getter
 @Setter
 public class Task {
@@ -30,9 +33,18 @@ public class Task {
 
     private LocalDateTime dueDate;
 
+    // Set once the due date has passed while the task was still open
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean overdue = false;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Bumped on every write; near-caches compare it with change notifications
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -0,0 +1,17 @@
+package org.example.taskmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Projection of the columns the due-date engine needs
+@Getter
+@AllArgsConstructor
+public class TaskSchedule {
+    private Long id;
+    private LocalDateTime dueDate;
+    private TaskStatus status;
+    private boolean overdue;
+    private LocalDateTime updatedAt;
+}
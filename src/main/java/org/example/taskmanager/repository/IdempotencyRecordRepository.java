@@ -0,0 +1,45 @@
+package org.example.taskmanager.repository;
+
+import org.example.taskmanager.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = :status, r.contentType = :contentType, r.body = :body, " +
+            "r.expiresAt = :expiresAt where r.key = :key and r.claimToken = :claimToken and r.status is null")
+    int complete(@Param("key") String key, @Param("claimToken") String claimToken, @Param("status") int status,
+                 @Param("contentType") String contentType, @Param("body") String body,
+                 @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.expiresAt = :expiresAt " +
+            "where r.key = :key and r.claimToken = :claimToken and r.status is null")
+    int renewPending(@Param("key") String key, @Param("claimToken") String claimToken,
+                     @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.claimToken = :claimToken and r.status is null")
+    int deletePending(@Param("key") String key, @Param("claimToken") String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.expiresAt <= :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
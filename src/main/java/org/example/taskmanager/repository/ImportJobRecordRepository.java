@@ -0,0 +1,20 @@
+package org.example.taskmanager.repository;
+
+import org.example.taskmanager.model.ImportJobRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface ImportJobRecordRepository extends JpaRepository<ImportJobRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from ImportJobRecord j where j.finishedAt <= :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,28 @@
+package org.example.taskmanager.repository;
+
+import org.example.taskmanager.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Renew our own lease or take over an expired one; returns 1 when we hold it afterwards
+    @Transactional
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update SchedulerLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -1,11 +1,60 @@
 package org.example.taskmanager.repository;
 
+import jakarta.persistence.LockModeType;
 import org.example.taskmanager.model.Task;
+import org.example.taskmanager.model.TaskSchedule;
+import org.example.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     // No need to write implementation – JpaRepository provides:
     // findAll(), findById(), save(), deleteById(), existsById(), etc.
+
+    // Due-date engine: keyset pages of open tasks with a due date, used to seed the in-memory schedule
+    @Query("select new org.example.taskmanager.model.TaskSchedule(t.id, t.dueDate, t.status, t.overdue, t.updatedAt) " +
+            "from Task t where t.dueDate is not null and t.overdue = false and t.status <> :completed " +
+            "and t.id > :afterId order by t.id")
+    List<TaskSchedule> findSchedulableAfterId(@Param("completed") TaskStatus completed, @Param("afterId") long afterId,
+                                              Pageable pageable);
+
+    // Negative-lookup filter: keyset pages of every existing id
+    @Query("select t.id from Task t where t.id > :afterId order by t.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // Due-date engine: tasks changed since the last pull (uses idx_tasks_updated_at)
+    @Query("select new org.example.taskmanager.model.TaskSchedule(t.id, t.dueDate, t.status, t.overdue, t.updatedAt) " +
+            "from Task t where t.updatedAt > :since or (t.updatedAt = :since and t.id > :afterId) " +
+            "order by t.updatedAt, t.id")
+    List<TaskSchedule> findSchedulesChangedSince(@Param("since") LocalDateTime since, @Param("afterId") long afterId,
+                                                 Pageable pageable);
+
+    // Due-date engine: tasks already past due but not flagged yet (uses idx_tasks_due_date)
+    @Query("select new org.example.taskmanager.model.TaskSchedule(t.id, t.dueDate, t.status, t.overdue, t.updatedAt) " +
+            "from Task t where t.dueDate <= :now and t.overdue = false and t.status <> :completed " +
+            "and t.id > :afterId order by t.id")
+    List<TaskSchedule> findPendingOverdue(@Param("now") LocalDateTime now, @Param("completed") TaskStatus completed,
+                                          @Param("afterId") long afterId, Pageable pageable);
+
+    // Locks the rows that really are due so two nodes can't flag the same task
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids and t.dueDate <= :now and t.overdue = false " +
+            "and t.status <> :completed")
+    List<Task> lockOverdueCandidates(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                                     @Param("completed") TaskStatus completed);
+
+    // Bulk updates bypass @UpdateTimestamp, so updatedAt is set here for other nodes' delta pulls
+    @Modifying
+    @Query("update Task t set t.overdue = true, t.version = t.version + 1, t.updatedAt = :now where t.id in :ids")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
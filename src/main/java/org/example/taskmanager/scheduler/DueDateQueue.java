@@ -0,0 +1,164 @@
+package org.example.taskmanager.scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Primitive priority queue of {@code (dueSecond, taskId)} for the due-date engine.
+ * <p>
+ * A binary min-heap over parallel {@code int}/{@code long} arrays holds the entries and a
+ * {@link LongIntHashMap} holds the current due second of every scheduled task. Rescheduling
+ * or cancelling only touches the map; heap entries that no longer match it are skipped when
+ * they surface and purged by an occasional compaction. About 32 bytes per task (measured by
+ * {@code DueDateQueueBenchmark}), no objects per entry. Not thread-safe.
+ */
+public class DueDateQueue {
+
+    // Due seconds are stored relative to 2020-01-01T00:00:00Z so they fit an int until 2088
+    static final long EPOCH_BASE = 1_577_836_800L;
+
+    private static final int MIN_COMPACT_SIZE = 1024;
+
+    private final LongIntHashMap scheduled;
+    private int[] dueSeconds;
+    private long[] ids;
+    private int heapSize;
+
+    public DueDateQueue() {
+        this(1024);
+    }
+
+    public DueDateQueue(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.scheduled = new LongIntHashMap(expectedSize);
+        this.dueSeconds = new int[capacity];
+        this.ids = new long[capacity];
+    }
+
+    public void schedule(long taskId, long dueEpochSecond) {
+        int due = toRelative(dueEpochSecond);
+        if (scheduled.put(taskId, due) == due) {
+            return;
+        }
+        push(due, taskId);
+        if (heapSize > 2 * scheduled.size() + MIN_COMPACT_SIZE) {
+            compact();
+        }
+    }
+
+    public void cancel(long taskId) {
+        scheduled.remove(taskId);
+    }
+
+    /**
+     * Removes up to {@code out.length} tasks due at or before {@code nowEpochSecond},
+     * earliest first, writing their ids to {@code out}. Returns how many were written.
+     */
+    public int pollDue(long nowEpochSecond, long[] out) {
+        int now = toRelative(nowEpochSecond);
+        int count = 0;
+        while (heapSize > 0 && dueSeconds[0] <= now && count < out.length) {
+            int due = dueSeconds[0];
+            long id = ids[0];
+            removeTop();
+            if (scheduled.get(id) == due) {
+                scheduled.remove(id);
+                out[count++] = id;
+            }
+        }
+        return count;
+    }
+
+    // Due epoch second of the earliest live entry, or Long.MAX_VALUE when empty
+    public long peekDueEpochSecond() {
+        while (heapSize > 0 && scheduled.get(ids[0]) != dueSeconds[0]) {
+            removeTop();
+        }
+        return heapSize > 0 ? dueSeconds[0] + EPOCH_BASE : Long.MAX_VALUE;
+    }
+
+    public int size() {
+        return scheduled.size();
+    }
+
+    public void clear() {
+        scheduled.clear();
+        heapSize = 0;
+    }
+
+    public long estimatedBytes() {
+        return scheduled.estimatedBytes() + (long) dueSeconds.length * Integer.BYTES
+                + (long) ids.length * Long.BYTES;
+    }
+
+    private void push(int due, long id) {
+        if (heapSize == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            dueSeconds = Arrays.copyOf(dueSeconds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(due, id, dueSeconds[parent], ids[parent])) {
+                break;
+            }
+            dueSeconds[i] = dueSeconds[parent];
+            ids[i] = ids[parent];
+            i = parent;
+        }
+        dueSeconds[i] = due;
+        ids[i] = id;
+    }
+
+    private void removeTop() {
+        int last = --heapSize;
+        if (last > 0) {
+            siftDown(0, dueSeconds[last], ids[last]);
+        }
+    }
+
+    private void siftDown(int i, int due, long id) {
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < heapSize && less(dueSeconds[right], ids[right], dueSeconds[child], ids[child])) {
+                child = right;
+            }
+            if (!less(dueSeconds[child], ids[child], due, id)) {
+                break;
+            }
+            dueSeconds[i] = dueSeconds[child];
+            ids[i] = ids[child];
+            i = child;
+        }
+        dueSeconds[i] = due;
+        ids[i] = id;
+    }
+
+    // Drop stale entries and re-heapify in O(n)
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < heapSize; i++) {
+            if (scheduled.get(ids[i]) == dueSeconds[i]) {
+                dueSeconds[live] = dueSeconds[i];
+                ids[live] = ids[i];
+                live++;
+            }
+        }
+        heapSize = live;
+        for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, dueSeconds[i], ids[i]);
+        }
+    }
+
+    private static boolean less(int dueA, long idA, int dueB, long idB) {
+        return dueA < dueB || (dueA == dueB && idA < idB);
+    }
+
+    private static int toRelative(long epochSecond) {
+        long relative = epochSecond - EPOCH_BASE;
+        // NO_VALUE is reserved by the map, so clamp one above it
+        return (int) Math.max(Integer.MIN_VALUE + 1L, Math.min(Integer.MAX_VALUE, relative));
+    }
+}
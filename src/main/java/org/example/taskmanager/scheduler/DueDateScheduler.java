@@ -0,0 +1,383 @@
+package org.example.taskmanager.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.event.TasksOverdueEvent;
+import org.example.taskmanager.model.SchedulerLease;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.model.TaskSchedule;
+import org.example.taskmanager.model.TaskStatus;
+import org.example.taskmanager.repository.SchedulerLeaseRepository;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process due-date engine: flags tasks overdue when their {@code dueDate} passes, without
+ * polling the {@code tasks} table.
+ * <p>
+ * Every node keeps a {@link DueDateQueue} of open tasks, seeded from the database at startup
+ * and kept current by {@link TaskChangedEvent}s from {@code TaskServiceImpl} plus a periodic
+ * pull of rows whose {@code updated_at} moved (writes made on other nodes). Only the node
+ * holding the {@code scheduler_leases} row fires: due tasks are locked, flagged and announced
+ * with a {@link TasksOverdueEvent} in batches. The row lock plus the {@code overdue = false}
+ * condition make each task fire once, even while the lease changes hands. With several shards
+ * the queue spans all of them: seeding and pulls run shard by shard, each with its own cursor,
+ * and due tasks are flagged on the shard that owns them; the lease stays on shard 0.
+ */
+public class DueDateScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DueDateScheduler.class);
+
+    static final String LEASE_NAME = "due-date-scheduler";
+
+    private final TaskRepository taskRepository;
+    private final TaskShards taskShards;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerProperties properties;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Guarded by itself
+    private final DueDateQueue queue = new DueDateQueue();
+
+    // Only touched from the tick thread (leader is read elsewhere too)
+    private ScheduledExecutorService executor;
+    // Newest updated_at pulled, per shard
+    private final LocalDateTime[] deltaSince;
+    private long nextDeltaNanos;
+    private long nextLeaseNanos;
+    private volatile boolean leader;
+
+    public DueDateScheduler(TaskRepository taskRepository, TaskShards taskShards,
+                            SchedulerLeaseRepository leaseRepository, TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher, SchedulerProperties properties) {
+        this.taskRepository = taskRepository;
+        this.taskShards = taskShards;
+        this.deltaSince = new LocalDateTime[taskShards.count()];
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        // Replaced by seed(); set here so a pull before (or without) a seed still has a cursor
+        Arrays.fill(deltaSince, LocalDateTime.now().minus(properties.getLeaseTtl()));
+        this.nextDeltaNanos = System.nanoTime();
+        this.nextLeaseNanos = nextDeltaNanos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "due-date-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::seed);
+        long tickMillis = properties.getTick().toMillis();
+        executor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (leader) {
+            // Let another node take over right away instead of waiting for the lease to expire
+            leaseRepository.release(LEASE_NAME, nodeId, Instant.now());
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        apply(event.getTaskId(), event.getTask());
+    }
+
+    public int size() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public long estimatedBytes() {
+        synchronized (queue) {
+            return queue.estimatedBytes();
+        }
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    void seed() {
+        int seeded = 0;
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            seeded += seed(shard);
+        }
+        log.info("Due-date scheduler seeded with {} tasks", seeded);
+    }
+
+    private int seed(int shard) {
+        // Start pulling deltas from a little before the seed so writes racing with it aren't missed
+        deltaSince[shard] = LocalDateTime.now().minus(properties.getLeaseTtl());
+        int pageSize = properties.getPageSize();
+        long afterId = 0;
+        int seeded = 0;
+        while (true) {
+            long after = afterId;
+            List<TaskSchedule> page = taskShards.on(shard, () -> taskRepository.findSchedulableAfterId(
+                    TaskStatus.COMPLETED, after, PageRequest.of(0, pageSize)));
+            synchronized (queue) {
+                for (TaskSchedule schedule : page) {
+                    apply(schedule);
+                }
+            }
+            seeded += page.size();
+            if (page.size() < pageSize) {
+                return seeded;
+            }
+            afterId = page.getLast().getId();
+        }
+    }
+
+    void tick() {
+        try {
+            if (System.nanoTime() - nextDeltaNanos >= 0) {
+                pullChanges();
+                nextDeltaNanos = System.nanoTime() + properties.getDeltaInterval().toNanos();
+            }
+            // Renew (or try to take over) the lease three times per TTL rather than every tick
+            if (System.nanoTime() - nextLeaseNanos >= 0) {
+                boolean wasLeader = leader;
+                leader = tryAcquireLease();
+                nextLeaseNanos = System.nanoTime() + properties.getLeaseTtl().toNanos() / 3;
+                if (leader && !wasLeader) {
+                    log.info("Due-date scheduler lease acquired by {}", nodeId);
+                    catchUp();
+                }
+            }
+            if (leader) {
+                fireDue();
+            } else {
+                dropFiredElsewhere();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Due-date scheduler tick failed", e);
+        }
+    }
+
+    // Rows changed since the last pull, e.g. by other nodes
+    void pullChanges() {
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            pullChanges(shard);
+        }
+    }
+
+    private void pullChanges(int shard) {
+        // updated_at is stamped by the writing node's clock, so a row can commit after one with a later
+        // stamp or arrive from a node whose clock lags; re-reading an overlap catches both, and applying
+        // a row twice is harmless
+        LocalDateTime since = deltaSince[shard].minus(properties.getDeltaOverlap());
+        long afterId = 0;
+        int pageSize = properties.getPageSize();
+        while (true) {
+            LocalDateTime pageSince = since;
+            long pageAfterId = afterId;
+            List<TaskSchedule> page = taskShards.on(shard, () -> taskRepository.findSchedulesChangedSince(
+                    pageSince, pageAfterId, PageRequest.of(0, pageSize)));
+            synchronized (queue) {
+                for (TaskSchedule schedule : page) {
+                    apply(schedule);
+                }
+            }
+            if (!page.isEmpty()) {
+                TaskSchedule last = page.getLast();
+                since = last.getUpdatedAt();
+                afterId = last.getId();
+                if (since.isAfter(deltaSince[shard])) {
+                    deltaSince[shard] = since;
+                }
+            }
+            if (page.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    boolean tryAcquireLease() {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(properties.getLeaseTtl());
+        if (leaseRepository.acquire(LEASE_NAME, nodeId, expiresAt, now) == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+        SchedulerLease lease = new SchedulerLease();
+        lease.setName(LEASE_NAME);
+        lease.setOwner(nodeId);
+        lease.setExpiresAt(expiresAt);
+        try {
+            leaseRepository.saveAndFlush(lease);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    // A new leader schedules what became due while nobody (or a failed node) held the lease
+    void catchUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int shard = 0; shard < taskShards.count(); shard++) {
+            catchUp(shard, now);
+        }
+    }
+
+    private void catchUp(int shard, LocalDateTime now) {
+        int pageSize = properties.getPageSize();
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            List<TaskSchedule> page = taskShards.on(shard, () -> taskRepository.findPendingOverdue(now,
+                    TaskStatus.COMPLETED, after, PageRequest.of(0, pageSize)));
+            synchronized (queue) {
+                for (TaskSchedule schedule : page) {
+                    apply(schedule);
+                }
+            }
+            if (page.size() < pageSize) {
+                return;
+            }
+            afterId = page.getLast().getId();
+        }
+    }
+
+    void fireDue() {
+        long[] batch = new long[properties.getBatchSize()];
+        while (true) {
+            long now = Instant.now().getEpochSecond();
+            int count;
+            synchronized (queue) {
+                count = queue.pollDue(now, batch);
+            }
+            if (count == 0) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(batch[i]);
+            }
+            // Each shard commits on its own, so one failing doesn't hold back the others' events
+            RuntimeException failure = null;
+            for (Map.Entry<Integer, List<Long>> shard : byShard(ids).entrySet()) {
+                try {
+                    List<Long> fired = markOverdue(shard.getKey(), shard.getValue());
+                    if (!fired.isEmpty()) {
+                        eventPublisher.publishEvent(new TasksOverdueEvent(fired));
+                    }
+                } catch (RuntimeException e) {
+                    // Put the batch back so the next tick retries it
+                    synchronized (queue) {
+                        for (Long id : shard.getValue()) {
+                            queue.schedule(id, now);
+                        }
+                    }
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // Non-leaders drop entries the leader must have fired by now; a new leader catches up from the DB
+    void dropFiredElsewhere() {
+        long cutoff = Instant.now().minus(properties.getLeaseTtl().multipliedBy(2)).getEpochSecond();
+        long[] batch = new long[properties.getBatchSize()];
+        synchronized (queue) {
+            while (queue.pollDue(cutoff, batch) > 0) {
+                // discard
+            }
+        }
+    }
+
+    private Map<Integer, List<Long>> byShard(List<Long> ids) {
+        if (taskShards.count() == 1) {
+            return Map.of(0, ids);
+        }
+        Map<Integer, List<Long>> byShard = new HashMap<>();
+        for (Long id : ids) {
+            byShard.computeIfAbsent(taskShards.ownerOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        return byShard;
+    }
+
+    // One transaction on the shard owning the ids
+    private List<Long> markOverdue(int shard, List<Long> ids) {
+        return taskShards.on(shard, () -> transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> due = taskRepository.lockOverdueCandidates(ids, now, TaskStatus.COMPLETED)
+                    .stream()
+                    .map(Task::getId)
+                    .toList();
+            if (!due.isEmpty()) {
+                taskRepository.markOverdue(due, now);
+            }
+            return due;
+        }));
+    }
+
+    private void apply(Long taskId, TaskDto task) {
+        synchronized (queue) {
+            if (task == null || !isSchedulable(task.getDueDate(), task.getStatus(), task.isOverdue())) {
+                queue.cancel(taskId);
+            } else {
+                queue.schedule(taskId, toEpochSecond(task.getDueDate()));
+            }
+        }
+    }
+
+    private void apply(TaskSchedule schedule) {
+        if (isSchedulable(schedule.getDueDate(), schedule.getStatus(), schedule.isOverdue())) {
+            queue.schedule(schedule.getId(), toEpochSecond(schedule.getDueDate()));
+        } else {
+            queue.cancel(schedule.getId());
+        }
+    }
+
+    private static boolean isSchedulable(LocalDateTime dueDate, TaskStatus status, boolean overdue) {
+        return dueDate != null && !overdue && status != TaskStatus.COMPLETED;
+    }
+
+    // Rounded up so a task never fires before its due date
+    private long toEpochSecond(LocalDateTime dueDate) {
+        Instant instant = dueDate.atZone(zone).toInstant();
+        return instant.getNano() > 0 ? instant.getEpochSecond() + 1 : instant.getEpochSecond();
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.taskmanager.scheduler;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.scheduler")
+public class SchedulerProperties {
+
+    private boolean enabled = true;
+
+    // How often due tasks are fired (and the lease renewed)
+    private Duration tick = Duration.ofSeconds(1);
+
+    // Max tasks flagged per transaction
+    private int batchSize = 1000;
+
+    // Only the node holding the lease fires; another node takes over once it expires
+    private Duration leaseTtl = Duration.ofSeconds(15);
+
+    // How often tasks changed on other nodes are pulled into the local schedule
+    private Duration deltaInterval = Duration.ofSeconds(5);
+
+    // How far behind the newest pulled change each pull starts again; covers commit lag and clock skew
+    private Duration deltaOverlap = Duration.ofSeconds(30);
+
+    // Rows per page when seeding from the database
+    private int pageSize = 10_000;
+}
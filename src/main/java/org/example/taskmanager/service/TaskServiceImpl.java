@@ -1,15 +1,23 @@
 package org.example.taskmanager.service;
 
+import org.example.taskmanager.cache.TaskNearCache;
 import org.example.taskmanager.dto.TaskCreateRequest;
 import org.example.taskmanager.dto.TaskDto;
 import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.event.TaskChangedEvent;
 import org.example.taskmanager.exception.TaskNotFoundException;
+import org.example.taskmanager.loader.TaskBatchLoader;
 import org.example.taskmanager.model.Task;
 import org.example.taskmanager.model.TaskStatus;
 import org.example.taskmanager.repository.TaskRepository;
 import org.example.taskmanager.mapper.TaskMapper;
+import org.example.taskmanager.shard.TaskShards;
+import org.example.taskmanager.writer.TaskWriteBatcher;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,37 +25,107 @@ import java.util.stream.Collectors;
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskBatchLoader taskBatchLoader;
+    private final TaskNearCache taskNearCache;
+    private final TaskShards taskShards;
+    private final TaskWriteBatcher taskWriteBatcher;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, TaskBatchLoader taskBatchLoader,
+                           TaskNearCache taskNearCache, TaskShards taskShards,
+                           TaskWriteBatcher taskWriteBatcher, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.taskBatchLoader = taskBatchLoader;
+        this.taskNearCache = taskNearCache;
+        this.taskShards = taskShards;
+        this.taskWriteBatcher = taskWriteBatcher;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public List<TaskDto> getAllTasks() {
-        return taskRepository.findAll().stream()
+        if (taskShards.count() == 1) {
+            return taskRepository.findAll().stream()
+                    .map(TaskMapper::toDto)
+                    .collect(Collectors.toList());
+        }
+        // Queried on every shard in parallel; sharded ids start with their creation time
+        return taskShards.scatter(shard -> taskRepository.findAll()).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Task::getId))
                 .map(TaskMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     public TaskDto getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        if (taskShards.ownerOf(id) < 0) {
+            throw new TaskNotFoundException("Task with ID " + id + " not found");
+        }
+        TaskDto cached = taskNearCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Concurrent lookups are coalesced into batched "id in (...)" queries, one per shard
+        long stamp = taskNearCache.stamp();
+        Task task = taskBatchLoader.load(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
-        return TaskMapper.toDto(task);
+        TaskDto taskDto = TaskMapper.toDto(task);
+        taskNearCache.put(id, task.getVersion(), taskDto, stamp);
+        return taskDto;
     }
 
     @Override
     public TaskDto createTask(TaskCreateRequest request) {
         Task task = TaskMapper.toEntity(request);
         task.setStatus(TaskStatus.PENDING); // default status
-        return TaskMapper.toDto(taskRepository.save(task));
+        // The id is generated on the chosen shard and encodes it
+        int shard = taskShards.nextShard();
+        Task saved = taskWriteBatcher.isEnabled()
+                ? taskWriteBatcher.create(shard, task)
+                : taskShards.on(shard, () -> taskRepository.save(task));
+        TaskDto created = TaskMapper.toDto(saved);
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
     }
 
     @Override
     public TaskDto updateTask(Long id, TaskUpdateRequest request) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
+        int shard = owner(id);
+        Task saved;
+        if (taskWriteBatcher.isEnabled()) {
+            // Loaded, changed and committed together with other concurrent writes
+            saved = taskWriteBatcher.update(shard, id, task -> applyUpdate(task, request));
+            if (saved == null) {
+                throw new TaskNotFoundException("Task with ID " + id + " not found");
+            }
+        } else {
+            Task task = taskShards.on(shard, () -> taskRepository.findById(id))
+                    .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
+            applyUpdate(task, request);
+            saved = taskShards.on(shard, () -> taskRepository.save(task));
+        }
+
+        TaskDto updated = TaskMapper.toDto(saved);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updated));
+        return updated;
+    }
 
+    @Override
+    public void deleteTask(Long id) {
+        int shard = owner(id);
+        if (!taskShards.on(shard, () -> taskRepository.existsById(id))) {
+            throw new TaskNotFoundException("Task with ID " + id + " not found");
+        }
+        taskShards.on(shard, () -> {
+            taskRepository.deleteById(id);
+            return null;
+        });
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+    }
+
+    private static void applyUpdate(Task task, TaskUpdateRequest request) {
         // Only update fields if they're present (non-null)
         if (request.getTitle() != null) {
             task.setTitle(request.getTitle());
@@ -59,21 +137,22 @@ public class TaskServiceImpl implements TaskService {
 
         if (request.getDueDate() != null) {
             task.setDueDate(request.getDueDate());
+            // A due date moved back into the future makes the task no longer overdue
+            if (request.getDueDate().isAfter(LocalDateTime.now())) {
+                task.setOverdue(false);
+            }
         }
 
         if (request.getStatus() != null) {
             task.setStatus(request.getStatus());
         }
-
-        // Save the updated task and return the DTO
-        return TaskMapper.toDto(taskRepository.save(task));
     }
 
-    @Override
-    public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
+    private int owner(Long id) {
+        int shard = taskShards.ownerOf(id);
+        if (shard < 0) {
             throw new TaskNotFoundException("Task with ID " + id + " not found");
         }
-        taskRepository.deleteById(id);
+        return shard;
     }
 }
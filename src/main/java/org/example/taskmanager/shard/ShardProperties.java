@@ -0,0 +1,54 @@
+package org.example.taskmanager.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.shard")
+public class ShardProperties {
+
+    // Off by default; the negative-lookup filter is unavailable while on (sharded ids are too sparse)
+    private boolean enabled = false;
+
+    // Shards 1..N in order; shard 0 is spring.datasource, which also keeps idempotency keys and
+    // scheduler leases. Never reorder: each database remembers the shard it was claimed as
+    private List<Shard> datasources = new ArrayList<>();
+
+    // Threads running list queries on the shards other than the caller's
+    private int scatterThreads = 16;
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        // Default to the spring.datasource credentials
+        private String username;
+        private String password;
+    }
+
+    // Every shard, shard 0 first, with credentials filled in
+    public List<Shard> resolve(DataSourceProperties primary) {
+        List<Shard> shards = new ArrayList<>();
+        Shard first = new Shard();
+        first.setUrl(primary.determineUrl());
+        first.setUsername(primary.determineUsername());
+        first.setPassword(primary.determinePassword());
+        shards.add(first);
+        if (enabled) {
+            for (Shard configured : datasources) {
+                Shard shard = new Shard();
+                shard.setUrl(configured.getUrl());
+                shard.setUsername(configured.getUsername() != null ? configured.getUsername() : first.getUsername());
+                shard.setPassword(configured.getPassword() != null ? configured.getPassword() : first.getPassword());
+                shards.add(shard);
+            }
+        }
+        return shards;
+    }
+}
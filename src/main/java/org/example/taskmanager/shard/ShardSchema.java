@@ -0,0 +1,47 @@
+package org.example.taskmanager.shard;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Runs the migrations on every shard and claims each database as its shard
+public final class ShardSchema {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchema.class);
+
+    private ShardSchema() {
+    }
+
+    // template carries the spring.flyway settings; only its data source is swapped per shard
+    public static void migrate(Flyway template, List<DataSource> shards) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            DataSource dataSource = shards.get(shard);
+            Flyway.configure()
+                    .configuration(template.getConfiguration())
+                    .dataSource(dataSource)
+                    .load()
+                    .migrate();
+            claim(new JdbcTemplate(dataSource), shard);
+        }
+        log.info("Task shards migrated and claimed: {}", shards.size());
+    }
+
+    // From here on next_task_id() encodes the shard; a database can only ever be one shard
+    static void claim(JdbcTemplate jdbc, int shard) {
+        if (shard != 0 && Boolean.TRUE.equals(jdbc.queryForObject(
+                "select exists (select 1 from tasks where id < ?)", Boolean.class, TaskIds.SHARDED))) {
+            throw new IllegalStateException("Database configured as shard " + shard
+                    + " holds tasks created before sharding, which are routed to shard 0");
+        }
+        jdbc.update("insert into task_shard (shard_id) values (?) on conflict do nothing", shard);
+        Integer claimed = jdbc.queryForObject("select shard_id from task_shard", Integer.class);
+        if (claimed == null || claimed != shard) {
+            throw new IllegalStateException("Database configured as shard " + shard + " was claimed as shard "
+                    + claimed + "; check the order of task.shard.datasources");
+        }
+    }
+}
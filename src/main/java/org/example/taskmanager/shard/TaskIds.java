@@ -0,0 +1,36 @@
+package org.example.taskmanager.shard;
+
+/**
+ * Layout of the ids {@code next_task_id()} (migration V7) hands out on a database claimed as a shard:
+ * <pre>
+ *   0 | 1 | 40 bits: ms since 2025-01-01 UTC | 10 bits: shard | 12 bits: sequence
+ * </pre>
+ * The marker bit keeps them above every id the former {@code IDENTITY} column handed out; those
+ * older ids all live on shard 0. Ids are unique per shard as long as a shard doesn't take more
+ * than 4096 inserts within one millisecond, and roughly ordered by creation time across shards.
+ */
+public final class TaskIds {
+
+    public static final long SHARDED = 1L << 62;
+    public static final int MAX_SHARDS = 1 << 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + 10;
+    static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    private TaskIds() {
+    }
+
+    public static int shardOf(long id) {
+        if (id < SHARDED) {
+            return 0;
+        }
+        return (int) (id >>> SEQUENCE_BITS) & (MAX_SHARDS - 1);
+    }
+
+    static long compose(long epochMillis, int shard, long sequence) {
+        return SHARDED
+                | (epochMillis - EPOCH_MILLIS) << TIMESTAMP_SHIFT
+                | (long) shard << SEQUENCE_BITS
+                | sequence & ((1 << SEQUENCE_BITS) - 1);
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.taskmanager.shard;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Which shard a piece of work runs against.
+ * <p>
+ * {@link #on} makes a shard current for the calling thread; {@link ShardRoutingDataSource} hands
+ * out connections to it, so repository calls (each its own transaction) made inside land on that
+ * shard. Work outside {@link #on} goes to shard 0, which also holds the non-task tables.
+ * {@link #scatter} runs the same work on every shard in parallel. With a single shard everything
+ * runs inline on the caller.
+ */
+public class TaskShards {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface ShardCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final int count;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public static TaskShards single() {
+        return new TaskShards(1, 0);
+    }
+
+    public TaskShards(int count, int scatterThreads) {
+        if (count < 1 || count > TaskIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("count must be between 1 and " + TaskIds.MAX_SHARDS);
+        }
+        this.count = count;
+        if (count == 1) {
+            this.executor = null;
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        // Past its queue the caller runs the work itself, so a saturated pool degrades to sequential
+        this.executor = new ThreadPoolExecutor(scatterThreads, scatterThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(scatterThreads * 4), runnable -> {
+            Thread thread = new Thread(runnable, "task-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Shard holding the task, -1 when the id can't belong to any configured shard
+    public int ownerOf(long id) {
+        int shard = TaskIds.shardOf(id);
+        return shard < count ? shard : -1;
+    }
+
+    // Round-robin placement of new tasks
+    public int nextShard() {
+        return count == 1 ? 0 : Math.floorMod(nextShard.getAndIncrement(), count);
+    }
+
+    public <T, E extends Exception> T on(int shard, ShardCall<T, E> work) throws E {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // Results in shard order; the caller takes shard 0 itself while the others run on the pool
+    public <T> List<T> scatter(IntFunction<T> work) {
+        if (count == 1) {
+            return Collections.singletonList(on(0, () -> work.apply(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(count - 1);
+        for (int shard = 1; shard < count; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> on(target, () -> work.apply(target)), executor));
+        }
+        List<T> results = new ArrayList<>(count);
+        RuntimeException failure = null;
+        try {
+            results.add(on(0, () -> work.apply(0)));
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // Wait for every shard even after a failure so no work outlives the call
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Null outside of on(), meaning shard 0
+    static Integer current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,294 @@
+package org.example.taskmanager.writer;
+
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Group commit for single-task writes.
+ * <p>
+ * Callers put their create or update on a bounded queue and block until it is committed. One
+ * flusher thread drains the queue and applies up to {@code maxBatchSize} writes in a single
+ * transaction per shard, holding a batch open for up to {@code window} after its first write.
+ * Every caller gets its own row back, or its own error: a batch that fails is retried one
+ * transaction per write, so a bad write can't fail its neighbours. A second write to a task
+ * already in the batch waits for the next one, so it sees the first write's outcome.
+ */
+public class TaskWriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBatcher.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskShards taskShards;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Write> queue;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public TaskWriteBatcher(TaskRepository taskRepository, TaskShards taskShards,
+                            TransactionTemplate transactionTemplate, boolean enabled, Duration window,
+                            int maxBatchSize, int queueCapacity) {
+        if (maxBatchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("maxBatchSize and queueCapacity must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.taskShards = taskShards;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (enabled) {
+            running = true;
+            flusher = new Thread(this::run, "task-writer");
+            flusher.setDaemon(true);
+            flusher.start();
+        } else {
+            flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The saved task, with its generated id
+    public Task create(int shard, Task task) {
+        return submit(new Write(shard, null, task, null));
+    }
+
+    // The changed task, null when none has the id
+    public Task update(int shard, long id, Consumer<Task> change) {
+        return submit(new Write(shard, id, null, change));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        failQueued();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    private Task submit(Write write) {
+        if (!running) {
+            throw new IllegalStateException("Task writer is not running");
+        }
+        try {
+            // Blocks while the queue is full, pushing back on callers instead of growing
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a task write", e);
+        }
+        if (!running) {
+            failQueued();
+        }
+        try {
+            return write.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<Write> batch = new ArrayList<>(maxBatchSize);
+        List<Write> deferred = new ArrayList<>();
+        while (running) {
+            try {
+                collect(batch, deferred);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush(batch, deferred);
+            batch.clear();
+        }
+        // Interrupted while a batch was open: its writes (and the deferred ones it took over) were
+        // already drained from the queue
+        for (Write write : batch) {
+            write.result.completeExceptionally(new IllegalStateException("Task writer stopped"));
+        }
+        for (Write write : deferred) {
+            write.result.completeExceptionally(new IllegalStateException("Task writer stopped"));
+        }
+        failQueued();
+    }
+
+    private void collect(List<Write> batch, List<Write> deferred) throws InterruptedException {
+        // Writes held back from the previous batch go first
+        batch.addAll(deferred);
+        deferred.clear();
+        if (batch.isEmpty()) {
+            batch.add(queue.take());
+        }
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Write next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Write> batch, List<Write> deferred) {
+        Map<Integer, List<Write>> byShard = new LinkedHashMap<>();
+        Set<Long> touched = new HashSet<>();
+        for (Write write : batch) {
+            if (write.id != null && !touched.add(write.id)) {
+                deferred.add(write);
+            } else {
+                byShard.computeIfAbsent(write.shard, shard -> new ArrayList<>()).add(write);
+            }
+        }
+        for (Map.Entry<Integer, List<Write>> shard : byShard.entrySet()) {
+            flush(shard.getKey(), shard.getValue());
+        }
+    }
+
+    private void flush(int shard, List<Write> group) {
+        batches.increment();
+        writes.add(group.size());
+        try {
+            List<Task> results = taskShards.on(shard, () -> transactionTemplate.execute(status -> apply(group)));
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).result.complete(results.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.getFirst().result.completeExceptionally(e);
+                return;
+            }
+            log.debug("Batch of {} task writes failed, retrying them one by one", group.size(), e);
+        }
+        fallbacks.increment();
+        for (Write write : group) {
+            try {
+                List<Task> result = taskShards.on(shard,
+                        () -> transactionTemplate.execute(status -> apply(List.of(write))));
+                write.result.complete(result.getFirst());
+            } catch (RuntimeException e) {
+                write.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Runs inside the transaction; updated tasks are loaded with one query and flushed on commit
+    private List<Task> apply(List<Write> group) {
+        List<Long> ids = new ArrayList<>();
+        for (Write write : group) {
+            if (write.id != null) {
+                ids.add(write.id);
+            }
+        }
+        Map<Long, Task> found = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Task task : taskRepository.findAllById(ids)) {
+                found.put(task.getId(), task);
+            }
+        }
+        List<Task> results = new ArrayList<>(group.size());
+        for (Write write : group) {
+            if (write.id == null) {
+                results.add(taskRepository.save(unsaved(write.task)));
+            } else {
+                Task task = found.get(write.id);
+                if (task != null) {
+                    write.change.accept(task);
+                }
+                results.add(task);
+            }
+        }
+        return results;
+    }
+
+    // A fresh entity per attempt: a rolled-back batch leaves its generated id and version on the
+    // entities it persisted, and saving those again would merge instead of insert
+    private static Task unsaved(Task task) {
+        Task copy = new Task();
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setStatus(task.getStatus());
+        copy.setDueDate(task.getDueDate());
+        copy.setOverdue(task.isOverdue());
+        return copy;
+    }
+
+    private void failQueued() {
+        Write write;
+        while ((write = queue.poll()) != null) {
+            write.result.completeExceptionally(new IllegalStateException("Task writer stopped"));
+        }
+    }
+
+    private static class Write {
+        private final int shard;
+        // Null for creates
+        private final Long id;
+        private final Task task;
+        private final Consumer<Task> change;
+        private final CompletableFuture<Task> result = new CompletableFuture<>();
+
+        Write(int shard, Long id, Task task, Consumer<Task> change) {
+            this.shard = shard;
+            this.id = id;
+            this.task = task;
+            this.change = change;
+        }
+    }
+}
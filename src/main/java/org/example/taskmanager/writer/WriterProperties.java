@@ -0,0 +1,25 @@
+package org.example.taskmanager.writer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task.writer")
+public class WriterProperties {
+
+    // Off by default: trades a little latency per write for far fewer commits under concurrency
+    private boolean enabled = false;
+
+    // How long a batch stays open after its first write; zero still batches what queued meanwhile
+    private Duration window = Duration.ofMillis(2);
+
+    // Writes per transaction; a full batch is flushed without waiting out the window
+    private int maxBatchSize = 100;
+
+    // Writes waiting for the flusher before callers block
+    private int queueCapacity = 1000;
+}
@@ -0,0 +1,11 @@
+-- Tasks as originally created by Hibernate's ddl-auto; IF NOT EXISTS keeps
+-- databases that were managed by ddl-auto=update migratable.
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    due_date    TIMESTAMP(6),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
@@ -0,0 +1,5 @@
+-- Due-date engine: overdue flag, seed/catch-up by due date and delta pulls by updated_at
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS overdue BOOLEAN DEFAULT FALSE NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at);
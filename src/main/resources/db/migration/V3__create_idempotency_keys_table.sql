@@ -0,0 +1,11 @@
+-- Shared Idempotency-Key store (task.idempotency.store=jdbc)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(512) PRIMARY KEY,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(255),
+    body            TEXT,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,6 @@
+-- Lease deciding which node fires due-date transitions
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name       VARCHAR(255) PRIMARY KEY,
+    owner      VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
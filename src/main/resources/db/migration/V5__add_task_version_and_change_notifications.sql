@@ -0,0 +1,20 @@
+-- Row version for optimistic locking and near-cache version checks
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Announce every committed change as "<id>:<version>" ("<id>:-1" once deleted) so each node
+-- can drop stale entries from its near-cache; NOTIFY is only delivered on commit
+CREATE OR REPLACE FUNCTION notify_task_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('task_changed', OLD.id || ':-1');
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('task_changed', NEW.id || ':' || NEW.version);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tasks_notify_changed ON tasks;
+CREATE TRIGGER tasks_notify_changed
+    AFTER UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION notify_task_changed();
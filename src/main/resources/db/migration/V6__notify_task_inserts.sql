@@ -0,0 +1,5 @@
+-- Announce inserts too, so every node learns about ids created elsewhere (negative-lookup filter)
+DROP TRIGGER IF EXISTS tasks_notify_changed ON tasks;
+CREATE TRIGGER tasks_notify_changed
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION notify_task_changed();
@@ -0,0 +1,37 @@
+-- Task ids from next_task_id() instead of IDENTITY. A database claimed as a shard (the single
+-- task_shard row, written at startup when task.shard.enabled) hands out ids that encode the shard,
+-- laid out as documented on org.example.taskmanager.shard.TaskIds; an unclaimed one keeps handing
+-- out plain sequential ids, exactly as IDENTITY did.
+CREATE TABLE IF NOT EXISTS task_shard (
+    singleton BOOLEAN DEFAULT TRUE PRIMARY KEY CHECK (singleton),
+    shard_id  INT NOT NULL CHECK (shard_id BETWEEN 0 AND 1023)
+);
+
+CREATE SEQUENCE IF NOT EXISTS task_id_seq;
+
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER SEQUENCE task_id_seq OWNED BY tasks.id;
+
+-- Carry on after the ids IDENTITY already handed out
+SELECT setval('task_id_seq', GREATEST(
+        (SELECT last_value FROM task_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM tasks WHERE id < 4611686018427387904)));
+
+CREATE OR REPLACE FUNCTION next_task_id() RETURNS BIGINT AS $$
+DECLARE
+    shard INT;
+    seq   BIGINT := nextval('task_id_seq');
+BEGIN
+    SELECT shard_id INTO shard FROM task_shard;
+    IF shard IS NULL THEN
+        RETURN seq;
+    END IF;
+    -- marker bit | ms since 2025-01-01 UTC | shard | low bits of the sequence
+    RETURN (1::BIGINT << 62)
+        | ((floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT - 1735689600000) << 22)
+        | (shard::BIGINT << 12)
+        | (seq & 4095);
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT next_task_id();
@@ -0,0 +1,3 @@
+-- Token of the claim that owns a pending key; only that claim may complete or release it,
+-- so a request that outlived its claim can't overwrite the response of the one that took over
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS claim_token VARCHAR(36);
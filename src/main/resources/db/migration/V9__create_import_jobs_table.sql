@@ -0,0 +1,17 @@
+-- Import job progress, so any node can answer status polls and it survives restarts
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id               VARCHAR(36) PRIMARY KEY,
+    format           VARCHAR(16) NOT NULL,
+    state            VARCHAR(16) NOT NULL,
+    rows_read        BIGINT      NOT NULL DEFAULT 0,
+    rows_imported    BIGINT      NOT NULL DEFAULT 0,
+    rows_rejected    BIGINT      NOT NULL DEFAULT 0,
+    chunks_committed BIGINT      NOT NULL DEFAULT 0,
+    started_at       TIMESTAMP(6) WITH TIME ZONE,
+    finished_at      TIMESTAMP(6) WITH TIME ZONE,
+    failure          TEXT,
+    errors           TEXT,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_finished_at ON import_jobs (finished_at);
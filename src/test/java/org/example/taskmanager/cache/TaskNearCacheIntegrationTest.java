@@ -0,0 +1,136 @@
+package org.example.taskmanager.cache;
+
+import org.example.taskmanager.TaskManagerApplication;
+import org.example.taskmanager.dto.TaskCreateRequest;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.exception.TaskNotFoundException;
+import org.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts against the same database, standing in for two nodes.
+ */
+class TaskNearCacheIntegrationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+        awaitTrue(() -> cache(nodeA).isActive() && cache(nodeB).isActive(), "listeners connected");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void updateTask_OnOneNode_ShouldInvalidateOtherNode() {
+        // Arrange - node B has the task cached
+        TaskDto created = service(nodeA).createTask(createRequest("Before"));
+        assertEquals("Before", service(nodeB).getTaskById(created.getId()).getTitle());
+        long hits = cache(nodeB).getHits();
+        assertEquals("Before", service(nodeB).getTaskById(created.getId()).getTitle());
+        assertEquals(hits + 1, cache(nodeB).getHits());
+
+        // Act
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setTitle("After");
+        service(nodeA).updateTask(created.getId(), update);
+
+        // Assert
+        awaitTrue(() -> "After".equals(service(nodeB).getTaskById(created.getId()).getTitle()),
+                "node B to see the update");
+    }
+
+    @Test
+    void deleteTask_OnOneNode_ShouldEvictOtherNode() {
+        // Arrange
+        TaskDto created = service(nodeA).createTask(createRequest("Doomed"));
+        service(nodeB).getTaskById(created.getId());
+
+        // Act
+        service(nodeA).deleteTask(created.getId());
+
+        // Assert
+        awaitTrue(() -> {
+            try {
+                service(nodeB).getTaskById(created.getId());
+                return false;
+            } catch (TaskNotFoundException e) {
+                return true;
+            }
+        }, "node B to see the delete");
+    }
+
+    @Test
+    void listenerReconnect_ShouldFlushCache() {
+        // Arrange
+        TaskDto created = service(nodeA).createTask(createRequest("Cached"));
+        service(nodeB).getTaskById(created.getId());
+        assertTrue(cache(nodeB).size() > 0);
+
+        // Act - kill every LISTEN session, notifications sent meanwhile would be lost
+        nodeA.getBean(JdbcTemplate.class).queryForList(
+                "select pg_terminate_backend(pid) from pg_stat_activity where query like 'LISTEN %'");
+
+        // Assert - both nodes come back, empty
+        awaitTrue(() -> cache(nodeB).isActive() && cache(nodeB).size() == 0
+                && cache(nodeA).isActive(), "listeners reconnected");
+        assertEquals("Cached", service(nodeB).getTaskById(created.getId()).getTitle());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("task.scheduler.enabled=false",
+                        "task.cache.poll-interval=50ms",
+                        "task.cache.reconnect-delay=100ms")
+                .run();
+    }
+
+    private static TaskService service(ConfigurableApplicationContext node) {
+        return node.getBean(TaskService.class);
+    }
+
+    private static TaskNearCache cache(ConfigurableApplicationContext node) {
+        return node.getBean(TaskNearCache.class);
+    }
+
+    private static TaskCreateRequest createRequest(String title) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + description);
+            }
+        }
+    }
+}
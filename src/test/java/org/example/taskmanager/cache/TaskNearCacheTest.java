@@ -0,0 +1,123 @@
+package org.example.taskmanager.cache;
+
+import org.example.taskmanager.dto.TaskDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskNearCacheTest {
+
+    private TaskNearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskNearCache(100);
+        cache.setActive(true);
+    }
+
+    @Test
+    void get_WhenInactive_ShouldBypassCache() {
+        // Arrange
+        cache.put(1L, 1, task("A"), cache.stamp());
+
+        // Act
+        cache.setActive(false);
+
+        // Assert
+        assertNull(cache.get(1L));
+        cache.put(1L, 1, task("A"), cache.stamp());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_ShouldOnlyDropOlderVersions() {
+        // Arrange
+        cache.put(1L, 2, task("A"), cache.stamp());
+
+        // Act & Assert - a late notification for an older write keeps the entry
+        cache.invalidate(1L, 1);
+        assertNotNull(cache.get(1L));
+
+        cache.invalidate(1L, 3);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void put_WhenLoadedVersionWasAlreadySuperseded_ShouldNotCache() {
+        // Arrange - the row changed while an older copy was being loaded
+        long stamp = cache.stamp();
+        cache.invalidate(1L, 5);
+
+        // Act
+        cache.put(1L, 4, task("stale"), stamp);
+        cache.put(2L, 1, task("other"), stamp);
+
+        // Assert
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+        cache.put(1L, 5, task("fresh"), cache.stamp());
+        assertEquals("fresh", cache.get(1L).getTitle());
+    }
+
+    @Test
+    void put_WhenDeleted_ShouldNeverCacheAgain() {
+        // Arrange
+        cache.invalidate(1L, TaskNearCache.DELETED);
+
+        // Act
+        cache.put(1L, 9, task("A"), cache.stamp());
+
+        // Assert
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void put_WhenFlushedDuringLoad_ShouldNotCache() {
+        // Arrange - e.g. the listener reconnected while the row was being read
+        long stamp = cache.stamp();
+        cache.setActive(true);
+
+        // Act
+        cache.put(1L, 1, task("A"), stamp);
+
+        // Assert
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void put_WhenFull_ShouldStayBounded() {
+        // Act
+        for (long id = 1; id <= 1000; id++) {
+            cache.put(id, 0, task("T"), cache.stamp());
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 100, "size was " + cache.size());
+    }
+
+    @Test
+    void invalidate_WhenAnnouncementsOverflow_ShouldKeepEntriesAndRejectInFlightFills() {
+        // Arrange
+        cache.put(1L, 1, task("cached"), cache.stamp());
+        long inFlight = cache.stamp();
+
+        // Act - writes to other rows, e.g. a bulk import, announce more ids than maxEntries
+        for (long id = 1_000; id < 1_200; id++) {
+            cache.invalidate(id, 1);
+        }
+        cache.put(2L, 1, task("loaded before"), inFlight);
+
+        // Assert
+        assertEquals("cached", cache.get(1L).getTitle());
+        assertNull(cache.get(2L));
+        cache.put(2L, 1, task("loaded after"), cache.stamp());
+        assertNotNull(cache.get(2L));
+    }
+
+    private static TaskDto task(String title) {
+        TaskDto task = new TaskDto();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.taskmanager.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.taskmanager.controller.TaskController;
+import org.example.taskmanager.controller.TaskImportController;
+import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.importer.TaskImporter;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private TaskService taskService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void updateTask_WhenConcurrentUpdateWins_ShouldReturnConflict() throws Exception {
+        // Arrange
+        when(taskService.updateTask(eq(1L), any(TaskUpdateRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setTitle("Updated Task");
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/v0/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)))
+                .andExpect(jsonPath("$.message", is("Task was modified by a concurrent request, retry the update")));
+    }
+
+    @Test
+    void startImport_WhenDeclaredUploadTooLarge_ShouldReturnPayloadTooLarge() throws Exception {
+        // Arrange
+        TaskImporter taskImporter = mock(TaskImporter.class);
+        when(taskImporter.getMaxUploadBytes()).thenReturn(16L);
+        MockMvc importMockMvc = MockMvcBuilders.standaloneSetup(new TaskImportController(taskImporter))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        // Act & Assert
+        importMockMvc.perform(post("/api/v0/task-imports")
+                        .contentType("text/csv")
+                        .content("title\nmore than sixteen bytes\n"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.status", is(413)));
+        verify(taskImporter, never()).submit(any(), any());
+    }
+}
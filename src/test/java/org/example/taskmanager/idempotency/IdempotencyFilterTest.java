@@ -0,0 +1,289 @@
+package org.example.taskmanager.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.taskmanager.controller.TaskController;
+import org.example.taskmanager.dto.TaskCreateRequest;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.exception.GlobalExceptionHandler;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.model.TaskStatus;
+import org.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class IdempotencyFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private TaskService taskService;
+    private MockMvc mockMvc;
+    private TaskDto taskDto;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        IdempotencyFilter filter = new IdempotencyFilter(new InMemoryIdempotencyStore(100, Duration.ofSeconds(5)),
+                "Idempotency-Key", 255, Duration.ofHours(1), Duration.ofSeconds(5), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+
+        taskDto = new TaskDto();
+        taskDto.setId(1L);
+        taskDto.setTitle("Test Task");
+        taskDto.setStatus(TaskStatus.PENDING);
+    }
+
+    @Test
+    void createTask_WhenRetriedWithSameKey_ShouldReplayWithoutCallingService() throws Exception {
+        // Arrange
+        when(taskService.createTask(any(TaskCreateRequest.class))).thenReturn(taskDto);
+        String body = createBody("New Task");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+
+        mockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.title", is("Test Task")));
+
+        verify(taskService, times(1)).createTask(any(TaskCreateRequest.class));
+    }
+
+    @Test
+    void createTask_WithoutKey_ShouldExecuteEveryTime() throws Exception {
+        // Arrange
+        when(taskService.createTask(any(TaskCreateRequest.class))).thenReturn(taskDto);
+        String body = createBody("New Task");
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v0/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated());
+        }
+
+        // Assert
+        verify(taskService, times(2)).createTask(any(TaskCreateRequest.class));
+    }
+
+    @Test
+    void createTask_WhenKeyReusedWithDifferentPayload_ShouldReturnUnprocessableEntity() throws Exception {
+        // Arrange
+        when(taskService.createTask(any(TaskCreateRequest.class))).thenReturn(taskDto);
+        mockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(createBody("First")))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(createBody("Second")))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(taskService, times(1)).createTask(any(TaskCreateRequest.class));
+    }
+
+    @Test
+    void updateTask_WhenRetriedWithSameKey_ShouldReplay() throws Exception {
+        // Arrange
+        when(taskService.updateTask(eq(1L), any(TaskUpdateRequest.class))).thenReturn(taskDto);
+        TaskUpdateRequest updateRequest = new TaskUpdateRequest();
+        updateRequest.setStatus(TaskStatus.COMPLETED);
+        String body = objectMapper.writeValueAsString(updateRequest);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(patch("/api/v0/tasks/1").header("Idempotency-Key", "upd")
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+
+        // Assert
+        verify(taskService, times(1)).updateTask(eq(1L), any(TaskUpdateRequest.class));
+    }
+
+    @Test
+    void createTask_WhenServiceFails_ShouldNotStoreResponse() throws Exception {
+        // Arrange
+        when(taskService.createTask(any(TaskCreateRequest.class)))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(taskDto);
+        String body = createBody("New Task");
+
+        // Act & Assert - the retry executes again because 5xx responses are not recorded
+        mockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isInternalServerError());
+        mockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        verify(taskService, times(2)).createTask(any(TaskCreateRequest.class));
+    }
+
+    @Test
+    void updateTask_WhenConcurrentUpdateConflicts_ShouldNotStoreResponse() throws Exception {
+        // Arrange
+        when(taskService.updateTask(eq(1L), any(TaskUpdateRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .thenReturn(taskDto);
+        TaskUpdateRequest updateRequest = new TaskUpdateRequest();
+        updateRequest.setStatus(TaskStatus.COMPLETED);
+        String body = objectMapper.writeValueAsString(updateRequest);
+
+        // Act & Assert - the retry executes again instead of replaying the 409
+        mockMvc.perform(patch("/api/v0/tasks/1").header("Idempotency-Key", "upd")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/v0/tasks/1").header("Idempotency-Key", "upd")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+
+        verify(taskService, times(2)).updateTask(eq(1L), any(TaskUpdateRequest.class));
+    }
+
+    @Test
+    void createTask_WhenDuplicatesAreConcurrent_ShouldExecuteOnce() throws Exception {
+        // Arrange - the first execution is slow, duplicates arrive while it runs
+        when(taskService.createTask(any(TaskCreateRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return taskDto;
+        });
+        String body = createBody("New Task");
+        Callable<MvcResult> request = () -> mockMvc.perform(post("/api/v0/tasks")
+                        .header("Idempotency-Key", "concurrent")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andReturn();
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(request));
+        }
+
+        // Assert
+        for (Future<MvcResult> result : results) {
+            assertEquals(201, result.get().getResponse().getStatus());
+            assertTrue(result.get().getResponse().getContentAsString().contains("Test Task"));
+        }
+        executor.shutdown();
+        verify(taskService, times(1)).createTask(any(TaskCreateRequest.class));
+    }
+
+    @Test
+    void createTask_WhenClaimFails_ShouldNotBlockTheKey() throws Exception {
+        // Arrange - the shared store is unreachable for the first claim only
+        when(taskService.createTask(any(TaskCreateRequest.class))).thenReturn(taskDto);
+        InMemoryIdempotencyStore delegate = new InMemoryIdempotencyStore(100, Duration.ofSeconds(5));
+        IdempotencyStore failingOnce = spy(delegate);
+        doThrow(new DataAccessResourceFailureException("database down")).doCallRealMethod()
+                .when(failingOnce).claim(anyString(), anyString());
+        IdempotencyFilter filter = new IdempotencyFilter(failingOnce, "Idempotency-Key", 255,
+                Duration.ofHours(1), Duration.ofSeconds(30), objectMapper);
+        MockMvc failingMockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+        String body = createBody("New Task");
+
+        // Act & Assert - the retry executes right away instead of waiting out the 30s timeout
+        assertThrows(DataAccessResourceFailureException.class, () -> failingMockMvc.perform(
+                post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(body)));
+        long start = System.nanoTime();
+        failingMockMvc.perform(post("/api/v0/tasks").header("Idempotency-Key", "abc")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        verify(taskService, times(1)).createTask(any(TaskCreateRequest.class));
+    }
+
+    @Test
+    void inMemoryStore_ShouldBeBoundedAndExpireEntries() {
+        // Arrange
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, Duration.ofSeconds(5),
+                Clock.fixed(now, ZoneOffset.UTC));
+
+        // Act
+        for (String key : List.of("a", "b", "c")) {
+            String token = store.claim(key, "hash");
+            assertNotNull(token);
+            store.complete(key, token, new IdempotentResponse("hash", 201, null, new byte[0], now.plusSeconds(60)));
+        }
+        store.complete("d", store.claim("d", "hash"), new IdempotentResponse("hash", 201, null, new byte[0], now));
+
+        // Assert
+        assertEquals(2, store.size());
+        assertNull(store.find("a"));
+        assertNotNull(store.find("c"));
+        assertNull(store.find("d"));
+        assertNull(store.claim("c", "hash"));
+    }
+
+    @Test
+    void inMemoryStore_WhenClaimLapsed_ShouldOnlyLetTheNewClaimCompleteOrRelease() {
+        // Arrange - a zero pending timeout lets the second claim take over the first one right away
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10, Duration.ZERO,
+                Clock.fixed(now, ZoneOffset.UTC));
+        String lapsed = store.claim("key", "hash");
+        String current = store.claim("key", "hash");
+        IdempotentResponse response = new IdempotentResponse("hash", 201, null, new byte[0], now.plusSeconds(60));
+
+        // Act
+        store.release("key", lapsed);
+        boolean lapsedCompleted = store.complete("key", lapsed,
+                new IdempotentResponse("hash", 500, null, new byte[0], now.plusSeconds(60)));
+        boolean currentCompleted = store.complete("key", current, response);
+
+        // Assert
+        assertNotEquals(lapsed, current);
+        assertFalse(lapsedCompleted);
+        assertTrue(currentCompleted);
+        assertSame(response, store.find("key"));
+    }
+
+    private String createBody(String title) throws Exception {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        return objectMapper.writeValueAsString(request);
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.taskmanager.idempotency;
+
+import org.example.taskmanager.model.IdempotencyRecord;
+import org.example.taskmanager.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaIdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private JpaIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JpaIdempotencyStore(repository, new InMemoryIdempotencyStore(100, Duration.ofSeconds(30)),
+                Duration.ofSeconds(30));
+    }
+
+    @Test
+    void claim_WhenKeyIsFree_ShouldInsertPendingRecord() {
+        // Act
+        String token = store.claim("key", "hash");
+
+        // Assert
+        assertNotNull(token);
+        verify(repository).deleteIfExpired(eq("key"), any(Instant.class));
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).saveAndFlush(record.capture());
+        assertEquals("hash", record.getValue().getRequestHash());
+        assertEquals(token, record.getValue().getClaimToken());
+        assertNull(record.getValue().getStatus());
+        assertTrue(record.getValue().getExpiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void claim_WhenKeyAlreadyClaimed_ShouldReturnFalse() {
+        // Arrange - another node inserted the key first
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertNull(store.claim("key", "hash"));
+    }
+
+    @Test
+    void find_WhenCompleted_ShouldReturnResponseAndCacheItLocally() {
+        // Arrange
+        when(repository.findById("key")).thenReturn(Optional.of(record(201, Instant.now().plusSeconds(60))));
+
+        // Act
+        IdempotentResponse first = store.find("key");
+        IdempotentResponse second = store.find("key");
+
+        // Assert
+        assertEquals(201, first.getStatus());
+        assertEquals("{\"id\":1}", new String(first.getBody(), StandardCharsets.UTF_8));
+        assertSame(first, second);
+        verify(repository, times(1)).findById("key");
+    }
+
+    @Test
+    void find_WhenPendingOrExpired_ShouldReturnNull() {
+        // Arrange
+        when(repository.findById("pending")).thenReturn(Optional.of(record(null, Instant.now().plusSeconds(60))));
+        when(repository.findById("expired")).thenReturn(Optional.of(record(201, Instant.now().minusSeconds(1))));
+
+        // Act & Assert
+        assertNull(store.find("pending"));
+        assertNull(store.find("expired"));
+        assertNull(store.find("missing"));
+    }
+
+    @Test
+    void complete_ShouldUpdateRecordAndServeLaterFindsLocally() {
+        // Arrange
+        IdempotentResponse response = response();
+        when(repository.complete("key", "token", 201, "application/json", "{\"id\":1}", response.getExpiresAt()))
+                .thenReturn(1);
+
+        // Act
+        boolean completed = store.complete("key", "token", response);
+
+        // Assert
+        assertTrue(completed);
+        assertSame(response, store.find("key"));
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void complete_WhenClaimWasLost_ShouldReturnFalseAndCacheNothing() {
+        // Arrange - the claim lapsed and another node owns the key now
+        when(repository.complete(eq("key"), eq("stale"), anyInt(), any(), any(), any())).thenReturn(0);
+
+        // Act
+        boolean completed = store.complete("key", "stale", response());
+
+        // Assert
+        assertFalse(completed);
+        assertNull(store.find("key"));
+        verify(repository).findById("key");
+    }
+
+    @Test
+    void renewClaims_ShouldExtendRunningClaimsAndForgetLostOnes() {
+        // Arrange
+        String running = store.claim("running", "hash");
+        String lost = store.claim("lost", "hash");
+        when(repository.renewPending(eq("running"), eq(running), any(Instant.class))).thenReturn(1);
+        when(repository.renewPending(eq("lost"), eq(lost), any(Instant.class))).thenReturn(0);
+
+        // Act
+        store.renewClaims();
+        store.renewClaims();
+
+        // Assert
+        verify(repository, times(2)).renewPending(eq("running"), eq(running), any(Instant.class));
+        verify(repository, times(1)).renewPending(eq("lost"), eq(lost), any(Instant.class));
+    }
+
+    @Test
+    void release_ShouldDeleteOnlyThePendingRecordOfThatClaim() {
+        // Arrange
+        String token = store.claim("key", "hash");
+
+        // Act
+        store.release("key", token);
+        store.renewClaims();
+
+        // Assert
+        verify(repository).deletePending("key", token);
+        verify(repository, never()).renewPending(any(), any(), any());
+    }
+
+    private static IdempotentResponse response() {
+        return new IdempotentResponse("hash", 201, "application/json",
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8), Instant.now().plusSeconds(60));
+    }
+
+    private static IdempotencyRecord record(Integer status, Instant expiresAt) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key");
+        record.setRequestHash("hash");
+        record.setStatus(status);
+        record.setContentType("application/json");
+        record.setBody("{\"id\":1}");
+        record.setExpiresAt(expiresAt);
+        return record;
+    }
+}
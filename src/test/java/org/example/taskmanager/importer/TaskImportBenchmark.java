@@ -0,0 +1,81 @@
+package org.example.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.example.taskmanager.TaskManagerApplication;
+import org.example.taskmanager.dto.ImportJobStatus;
+import org.example.taskmanager.dto.TaskCreateRequest;
+import org.example.taskmanager.repository.ImportJobRecordRepository;
+import org.example.taskmanager.service.TaskService;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// Run with: mvn test -Pbenchmark -Dtest=TaskImportBenchmark
+// Needs the database from application.properties; imported rows are deleted afterwards
+@Tag("benchmark")
+class TaskImportBenchmark {
+
+    private static final int IMPORT_ROWS = 500_000;
+    private static final int SERVICE_ROWS = 5_000;
+    // One row in a hundred fails validation
+    private static final int INVALID_EVERY = 100;
+
+    @Test
+    void compareCopyImportWithPerRowCreates() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--task.scheduler.enabled=false", "--spring.jpa.show-sql=false")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            try {
+                TaskService service = context.getBean(TaskService.class);
+                long start = System.nanoTime();
+                for (int i = 0; i < SERVICE_ROWS; i++) {
+                    TaskCreateRequest request = new TaskCreateRequest();
+                    request.setTitle("bench " + i);
+                    request.setDescription("created through the service");
+                    service.createTask(request);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-16s rows %,9d  %8.0f rows/s%n", "createTask", SERVICE_ROWS, SERVICE_ROWS / seconds);
+
+                byte[] csv = csv();
+                for (int chunkSize : new int[]{500, 5_000, 50_000}) {
+                    TaskImporter importer = new TaskImporter(context.getBean(DataSource.class),
+                            context.getBean(TaskShards.class), context.getBean(ImportJobRecordRepository.class),
+                            context.getBean(Validator.class), context.getBean(ObjectMapper.class), chunkSize, 100,
+                            10, 1, 1, Long.MAX_VALUE, Duration.ofDays(7), Duration.ofMinutes(2));
+                    ImportJob job = importer.submit(ImportFormat.CSV, new ByteArrayInputStream(csv));
+                    while (job.getState() == ImportJob.State.QUEUED || job.getState() == ImportJob.State.RUNNING) {
+                        Thread.sleep(20);
+                    }
+                    importer.stop();
+                    ImportJobStatus status = job.toStatus();
+                    System.out.printf("%-16s rows %,9d  %8.0f rows/s  rejected %,d  %s%n", "copy/" + chunkSize,
+                            status.getRowsImported(), status.getRowsPerSecond(), status.getRowsRejected(),
+                            status.getState());
+                }
+            } finally {
+                jdbc.update("delete from tasks where title like 'bench %'");
+            }
+        }
+    }
+
+    private static byte[] csv() {
+        StringBuilder csv = new StringBuilder("title,description,dueDate\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            String title = i % INVALID_EVERY == 0 ? "" : "bench " + i;
+            csv.append(title).append(",\"imported, row ").append(i).append("\",2099-06-01T12:00:00\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
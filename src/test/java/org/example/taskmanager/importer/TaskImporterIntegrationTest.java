@@ -0,0 +1,268 @@
+package org.example.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.example.taskmanager.TaskManagerApplication;
+import org.example.taskmanager.dto.ImportJobStatus;
+import org.example.taskmanager.exception.TooManyImportsException;
+import org.example.taskmanager.exception.UploadTooLargeException;
+import org.example.taskmanager.model.ImportJobRecord;
+import org.example.taskmanager.repository.ImportJobRecordRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskImporterIntegrationTest {
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--task.scheduler.enabled=false",
+                        "--task.import.chunk-size=2",
+                        "--task.import.max-concurrent-jobs=1",
+                        "--task.import.max-queued-jobs=1");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void csvImport_ShouldCopyValidRowsAndReportRejectedOnes() throws Exception {
+        // Arrange
+        String marker = UUID.randomUUID().toString();
+        String csv = "title,description,dueDate\n"
+                + "\"" + marker + " a\",\"Quoted \"\"text\"\", with comma\",2099-01-01T10:00:00\n"
+                + ",no title,\n"
+                + marker + " b,,\n"
+                + marker + " c,,2000-01-01T00:00:00\n"
+                + marker + " d,\"\",\n";
+
+        // Act
+        ImportJobStatus status = await(importer().submit(ImportFormat.CSV, stream(csv)));
+
+        // Assert
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(5, status.getRowsRead());
+        assertEquals(3, status.getRowsImported());
+        assertEquals(2, status.getRowsRejected());
+        assertEquals(2, status.getChunksCommitted());
+        assertEquals(List.of(3L, 5L), status.getErrors().stream().map(ImportJobStatus.RowError::getLine).toList());
+        assertEquals("Title is required and cannot be blank or null", status.getErrors().get(0).getMessage());
+        assertEquals("Due date must be in the present or future", status.getErrors().get(1).getMessage());
+
+        List<Map<String, Object>> rows = jdbc().queryForList(
+                "select title, description, status, due_date, overdue, version, created_at from tasks"
+                        + " where title like ? order by title", marker + "%");
+        assertEquals(3, rows.size());
+        assertEquals("Quoted \"text\", with comma", rows.get(0).get("description"));
+        assertEquals("PENDING", rows.get(0).get("status"));
+        assertNotNull(rows.get(0).get("due_date"));
+        assertEquals(false, rows.get(0).get("overdue"));
+        assertEquals(0L, rows.get(0).get("version"));
+        assertNotNull(rows.get(0).get("created_at"));
+        assertNull(rows.get(1).get("description"));
+        assertNull(rows.get(2).get("description"));
+    }
+
+    @Test
+    void ndjsonImport_ShouldImportAndReportMalformedLines() throws Exception {
+        // Arrange
+        String marker = UUID.randomUUID().toString();
+        String ndjson = "{\"title\":\"" + marker + " 1\"}\n"
+                + "not json\n"
+                + "{\"title\":\"" + marker + " 2\",\"description\":\"" + "x".repeat(1001) + "\"}\n"
+                + "{\"title\":\"" + marker + " 3\",\"description\":\"\"}\n";
+
+        // Act
+        ImportJobStatus status = await(importer().submit(ImportFormat.NDJSON, stream(ndjson)));
+
+        // Assert
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(2, status.getRowsImported());
+        assertEquals(2, status.getRowsRejected());
+        assertTrue(status.getErrors().get(0).getMessage().startsWith("Invalid JSON"));
+        assertEquals("Description must be a string with less than 1000 characters",
+                status.getErrors().get(1).getMessage());
+        List<Map<String, Object>> rows = jdbc().queryForList(
+                "select description from tasks where title like ? order by title", marker + "%");
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).get("description"));
+        // Empty string survives the COPY as an empty string, not null
+        assertEquals("", rows.get(1).get("description"));
+    }
+
+    @Test
+    void import_WhenRowContainsNul_ShouldRejectThatRowAndImportTheRest() throws Exception {
+        // Arrange - valid for the DTO constraints, but Postgres refuses U+0000 in text columns
+        String marker = UUID.randomUUID().toString();
+        String csv = "title,description\n"
+                + marker + " a,\n"
+                + marker + " b,bad\u0000byte\n"
+                + marker + " c,\n";
+        String ndjson = "{\"title\":\"" + marker + " d\\u0000\"}\n"
+                + "{\"title\":\"" + marker + " e\"}\n";
+
+        // Act
+        ImportJobStatus csvStatus = await(importer().submit(ImportFormat.CSV, stream(csv)));
+        ImportJobStatus ndjsonStatus = await(importer().submit(ImportFormat.NDJSON, stream(ndjson)));
+
+        // Assert
+        assertEquals("COMPLETED", csvStatus.getState());
+        assertEquals(2, csvStatus.getRowsImported());
+        assertEquals(1, csvStatus.getRowsRejected());
+        assertEquals(3L, csvStatus.getErrors().get(0).getLine());
+        assertEquals("Title and description cannot contain NUL characters", csvStatus.getErrors().get(0).getMessage());
+        assertEquals("COMPLETED", ndjsonStatus.getState());
+        assertEquals(1, ndjsonStatus.getRowsImported());
+        assertEquals(1L, ndjsonStatus.getErrors().get(0).getLine());
+        assertEquals(List.of(marker + " a", marker + " c", marker + " e"), jdbc().queryForList(
+                "select title from tasks where title like ? order by title", String.class, marker + "%"));
+    }
+
+    @Test
+    void csvImport_WithoutTitleColumn_ShouldFail() throws Exception {
+        // Act
+        ImportJobStatus status = await(importer().submit(ImportFormat.CSV, stream("name\nA\n")));
+
+        // Assert
+        assertEquals("FAILED", status.getState());
+        assertEquals("CSV header must name a title column", status.getFailure());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRefuse() throws Exception {
+        // Arrange - one import running and one queued, each 1,000 chunks long
+        StringBuilder big = new StringBuilder("title\n");
+        for (int i = 0; i < 2_000; i++) {
+            big.append("bulk ").append(i).append('\n');
+        }
+        TaskImporter importer = importer();
+        ImportJob first = importer.submit(ImportFormat.CSV, stream(big.toString()));
+        ImportJob second = importer.submit(ImportFormat.CSV, stream(big.toString()));
+
+        // Act & Assert
+        assertThrows(TooManyImportsException.class, () -> importer.submit(ImportFormat.CSV, stream(big.toString())));
+        await(first);
+        await(second);
+        jdbc().update("delete from tasks where title like 'bulk %'");
+    }
+
+    @Test
+    void submit_WhenUploadTooLarge_ShouldRefuseAndNotStartAJob() {
+        // Arrange
+        TaskImporter importer = newImporter(16);
+
+        // Act & Assert
+        assertThrows(UploadTooLargeException.class,
+                () -> importer.submit(ImportFormat.CSV, stream("title\nmore than sixteen bytes\n")));
+        assertEquals(0, importer.getRunningJobs());
+        importer.stop();
+    }
+
+    @Test
+    void find_OnAnotherNode_ShouldReturnThePersistedStatus() throws Exception {
+        // Arrange
+        String marker = UUID.randomUUID().toString();
+        ImportJob job = importer().submit(ImportFormat.CSV, stream("title\n" + marker + " a\n,\n" + marker + " b\n"));
+        ImportJobStatus local = await(job);
+        // Another node, or this one after a restart: nothing about the job in memory
+        TaskImporter otherNode = newImporter(1024);
+
+        // Act - the final flush lands right after the local job finishes
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        ImportJob found;
+        while (!(found = otherNode.find(job.getId()).orElseThrow()).isFinished()) {
+            assertTrue(System.nanoTime() < deadline, "final status was not persisted");
+            Thread.sleep(10);
+        }
+        ImportJobStatus remote = found.toStatus();
+
+        // Assert
+        assertEquals("COMPLETED", remote.getState());
+        assertEquals(local.getRowsRead(), remote.getRowsRead());
+        assertEquals(2, remote.getRowsImported());
+        assertEquals(1, remote.getRowsRejected());
+        assertEquals(local.getChunksCommitted(), remote.getChunksCommitted());
+        assertEquals(local.getFinishedAt().toEpochMilli(), remote.getFinishedAt().toEpochMilli());
+        assertEquals(3L, remote.getErrors().get(0).getLine());
+        assertEquals(local.getErrors().get(0).getMessage(), remote.getErrors().get(0).getMessage());
+        assertTrue(otherNode.find(UUID.randomUUID().toString()).isEmpty());
+        otherNode.stop();
+    }
+
+    @Test
+    void find_WhenUnfinishedJobStoppedReporting_ShouldReportItFailed() {
+        // Arrange - a job left RUNNING by a node that died three minutes ago
+        ImportJobRecord record = new ImportJobRecord();
+        record.setId(UUID.randomUUID().toString());
+        record.setFormat(ImportFormat.CSV.name());
+        record.setState(ImportJob.State.RUNNING.name());
+        record.setRowsImported(4);
+        record.setStartedAt(Instant.now().minus(Duration.ofMinutes(5)));
+        record.setUpdatedAt(Instant.now().minus(Duration.ofMinutes(3)));
+        context.getBean(ImportJobRecordRepository.class).save(record);
+
+        // Act
+        ImportJobStatus status = importer().find(record.getId()).orElseThrow().toStatus();
+
+        // Assert
+        assertEquals("FAILED", status.getState());
+        assertEquals(4, status.getRowsImported());
+        assertEquals("Import was abandoned: the node running it stopped reporting progress", status.getFailure());
+        assertEquals(record.getUpdatedAt().toEpochMilli(), status.getFinishedAt().toEpochMilli());
+        assertEquals(List.of(), status.getErrors());
+    }
+
+    private static ImportJobStatus await(ImportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (job.getState() == ImportJob.State.QUEUED || job.getState() == ImportJob.State.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "import did not finish");
+            Thread.sleep(10);
+        }
+        ImportJobStatus status = job.toStatus();
+        assertEquals(job.getId(), importer().find(job.getId()).orElseThrow().getId());
+        return status;
+    }
+
+    private static InputStream stream(String text) throws IOException {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TaskImporter newImporter(long maxUploadBytes) {
+        return new TaskImporter(context.getBean(DataSource.class), context.getBean(TaskShards.class),
+                context.getBean(ImportJobRecordRepository.class), context.getBean(Validator.class),
+                context.getBean(ObjectMapper.class), 2, 100, 10, 1, 1, maxUploadBytes, Duration.ofDays(7),
+                Duration.ofMinutes(2));
+    }
+
+    private static TaskImporter importer() {
+        return context.getBean(TaskImporter.class);
+    }
+
+    private static JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void csv_WithQuotedFields_ShouldParseCommasQuotesAndLineBreaks() throws IOException {
+        // Arrange
+        String csv = "\uFEFFdue_date,Title,ignored,description\r\n"
+                + "2030-01-01T09:00:00,\"Buy milk, eggs\",x,\"She said \"\"now\"\"\"\r\n"
+                + "\r\n"
+                + ",\"Two\nlines\",,\n"
+                + ",Third,,";
+
+        // Act
+        List<TaskRow> rows = readAll(ImportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("Buy milk, eggs", rows.get(0).request().getTitle());
+        assertEquals("She said \"now\"", rows.get(0).request().getDescription());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 9, 0), rows.get(0).request().getDueDate());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Two\nlines", rows.get(1).request().getTitle());
+        assertNull(rows.get(1).request().getDescription());
+        assertNull(rows.get(1).request().getDueDate());
+        assertEquals(4, rows.get(1).line());
+        assertEquals("Third", rows.get(2).request().getTitle());
+        assertEquals(6, rows.get(2).line());
+    }
+
+    @Test
+    void csv_WithBadDueDateOrHugeField_ShouldReturnInvalidRowsAndContinue() throws IOException {
+        // Arrange
+        String huge = "x".repeat(CsvTaskRowReader.MAX_FIELD_LENGTH + 1);
+        String csv = "title,dueDate\nA,tomorrow\n" + huge + ",\nB,\n";
+
+        // Act
+        List<TaskRow> rows = readAll(ImportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("Due date must be an ISO-8601 date-time", rows.get(0).error());
+        assertTrue(rows.get(1).error().startsWith("Field longer than"));
+        assertNull(rows.get(2).error());
+        assertEquals("B", rows.get(2).request().getTitle());
+    }
+
+    @Test
+    void csv_WithoutTitleColumn_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> readAll(ImportFormat.CSV, "name,description\nA,B\n"));
+    }
+
+    @Test
+    void ndjson_ShouldSkipBlankLinesAndReportMalformedOnes() throws IOException {
+        // Arrange
+        String ndjson = "{\"title\":\"One\",\"dueDate\":\"2030-01-01T09:00:00\"}\n"
+                + "\n"
+                + "{\"title\":\n"
+                + "{\"title\":\"Two\",\"description\":\"d\"}";
+
+        // Act
+        List<TaskRow> rows = readAll(ImportFormat.NDJSON, ndjson);
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("One", rows.get(0).request().getTitle());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 9, 0), rows.get(0).request().getDueDate());
+        assertEquals(3, rows.get(1).line());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"));
+        assertEquals("d", rows.get(2).request().getDescription());
+        assertEquals(4, rows.get(2).line());
+    }
+
+    @Test
+    void ndjson_WithHugeLine_ShouldReturnInvalidRowAndContinue() throws IOException {
+        // Arrange
+        String huge = "{\"title\":\"" + "x".repeat(NdjsonTaskRowReader.MAX_LINE_LENGTH) + "\"}";
+        String ndjson = huge + "\r\n{\"title\":\"After\"}\r\n";
+
+        // Act
+        List<TaskRow> rows = readAll(ImportFormat.NDJSON, ndjson);
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).error().startsWith("Line longer than"));
+        assertEquals("After", rows.get(1).request().getTitle());
+        assertEquals(2, rows.get(1).line());
+    }
+
+    private List<TaskRow> readAll(ImportFormat format, String input) throws IOException {
+        List<TaskRow> rows = new ArrayList<>();
+        try (TaskRowReader reader = TaskRowReader.open(format, new StringReader(input), objectMapper)) {
+            TaskRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
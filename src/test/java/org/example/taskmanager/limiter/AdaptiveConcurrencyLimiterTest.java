@@ -0,0 +1,193 @@
+package org.example.taskmanager.limiter;
+
+import org.example.taskmanager.cache.TaskNearCache;
+import org.example.taskmanager.loader.TaskBatchLoader;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.service.TaskServiceImpl;
+import org.example.taskmanager.shard.TaskShards;
+import org.example.taskmanager.writer.TaskWriteBatcher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_WhenAtLimit_ShouldReject() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 10);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(MILLI, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_WhenLatencyRises_ShouldShrinkLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 2.0, 10);
+        runWindow(limiter, MILLI, false);
+        int before = limiter.getLimit();
+
+        // Act - latency goes up 8x, well past the tolerance
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, 8 * MILLI, false);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, "limit should shrink, was " + limiter.getLimit());
+    }
+
+    @Test
+    void release_WhenHealthyAndSaturated_ShouldGrowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 2.0, 10);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, MILLI, false);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit should grow, was " + limiter.getLimit());
+    }
+
+    @Test
+    void release_WhenRequestsDropped_ShouldBackOff() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 2.0, 10);
+
+        // Act
+        runWindow(limiter, MILLI, true);
+
+        // Assert
+        assertEquals(45, limiter.getLimit());
+    }
+
+    @Test
+    void clientRateLimiter_WhenBucketEmpty_ShouldRejectOnlyThatClient() {
+        // Arrange
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(2, 0.001, 100);
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryConsume("a"));
+        assertTrue(rateLimiter.tryConsume("a"));
+        assertFalse(rateLimiter.tryConsume("a"));
+        assertTrue(rateLimiter.tryConsume("b"));
+    }
+
+    @Test
+    void slowRepository_WithLimiter_ShouldKeepTailLatencyBounded() throws Exception {
+        // Arrange - a repository that behaves like a saturated database: beyond 4 concurrent
+        // queries every extra query adds queueing delay for everybody
+        AtomicInteger concurrentQueries = new AtomicInteger();
+        TaskRepository slowRepository = mock(TaskRepository.class);
+        when(slowRepository.findById(anyLong())).thenAnswer(invocation -> {
+            int concurrent = concurrentQueries.incrementAndGet();
+            try {
+                LockSupport.parkNanos((long) (2 * MILLI * Math.max(1.0, concurrent / 4.0)));
+                Task task = new Task();
+                task.setId(invocation.getArgument(0));
+                task.setTitle("Task");
+                task.setVersion(0L);
+                return Optional.of(task);
+            } finally {
+                concurrentQueries.decrementAndGet();
+            }
+        });
+        TaskServiceImpl service = new TaskServiceImpl(slowRepository,
+                new TaskBatchLoader(slowRepository, TaskShards.single(), false, Duration.ZERO, 1),
+                new TaskNearCache(1), TaskShards.single(),
+                new TaskWriteBatcher(slowRepository, TaskShards.single(), null, false, Duration.ZERO, 1, 1),
+                event -> { });
+
+        // Act
+        List<Long> unlimited = runLoad(service, null);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 64, 2.0, 20);
+        List<Long> limited = runLoad(service, limiter);
+
+        // Assert
+        long unlimitedP99 = percentile(unlimited, 0.99);
+        long limitedP99 = percentile(limited, 0.99);
+        assertTrue(limitedP99 < unlimitedP99,
+                "p99 with limiter " + limitedP99 / MILLI + "ms should beat " + unlimitedP99 / MILLI + "ms");
+    }
+
+    private static void runWindow(AdaptiveConcurrencyLimiter limiter, long rttNanos, boolean dropped) {
+        int slots = 0;
+        while (slots < 10 && limiter.tryAcquire()) {
+            slots++;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i >= slots) {
+                assertTrue(limiter.tryAcquire());
+            }
+            limiter.release(rttNanos, dropped);
+        }
+    }
+
+    // Latencies of the requests that were admitted; rejected ones are answered immediately
+    private static List<Long> runLoad(TaskServiceImpl service, AdaptiveConcurrencyLimiter limiter)
+            throws InterruptedException {
+        int threads = 32;
+        int requestsPerThread = 40;
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        if (limiter != null && !limiter.tryAcquire()) {
+                            Thread.sleep(1);
+                            continue;
+                        }
+                        long start = System.nanoTime();
+                        service.getTaskById(1L);
+                        long rtt = System.nanoTime() - start;
+                        if (limiter != null) {
+                            limiter.release(rtt, false);
+                        }
+                        latencies.add(rtt);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        return latencies;
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.taskmanager.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanager.controller.TaskController;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.exception.GlobalExceptionHandler;
+import org.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private TaskService taskService;
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        TaskDto taskDto = new TaskDto();
+        taskDto.setId(1L);
+        taskDto.setTitle("Test Task");
+        when(taskService.getTaskById(1L)).thenReturn(taskDto);
+        readLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 2.0, 10);
+        writeLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 2.0, 10);
+    }
+
+    @Test
+    void doFilter_WhenBudgetExhausted_ShouldReturnServiceUnavailableWithRetryAfter() throws Exception {
+        // Arrange - another request holds the only read permit
+        MockMvc mockMvc = mockMvc(null, null, true);
+        assertTrue(readLimiter.tryAcquire());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v0/tasks/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status", is(503)));
+        verify(taskService, never()).getTaskById(1L);
+    }
+
+    @Test
+    void doFilter_WhenClientOverItsRate_ShouldReturnTooManyRequests() throws Exception {
+        // Arrange - one request per client, barely refilling
+        MockMvc mockMvc = mockMvc(new ClientRateLimiter(1, 0.001, 10), null, true);
+
+        // Act & Assert - a made-up client id doesn't buy a fresh bucket
+        mockMvc.perform(get("/api/v0/tasks/1").header("X-Client-Id", "a"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v0/tasks/1").header("X-Client-Id", "b"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status", is(429)));
+        verify(taskService, times(1)).getTaskById(1L);
+    }
+
+    @Test
+    void doFilter_WithTrustedClientHeader_ShouldKeyOnIt() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(new ClientRateLimiter(1, 0.001, 10), "X-Client-Id", true);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v0/tasks/1").header("X-Client-Id", "a"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v0/tasks/1").header("X-Client-Id", "b"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v0/tasks/1").header("X-Client-Id", "a"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void doFilter_WhenHandlerThrows_ShouldReleasePermit() {
+        // Arrange - no exception handler, so the failure propagates through the filter
+        when(taskService.getTaskById(2L)).thenThrow(new IllegalStateException("database down"));
+        MockMvc mockMvc = mockMvc(null, null, false);
+
+        // Act
+        assertThrows(Exception.class, () -> mockMvc.perform(get("/api/v0/tasks/2")));
+
+        // Assert
+        assertEquals(0, readLimiter.getInFlight());
+        assertTrue(readLimiter.tryAcquire());
+    }
+
+    private MockMvc mockMvc(ClientRateLimiter clientRateLimiter, String clientHeader, boolean withAdvice) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, clientRateLimiter,
+                clientHeader, objectMapper, new SimpleMeterRegistry());
+        var builder = MockMvcBuilders.standaloneSetup(new TaskController(taskService)).addFilters(filter);
+        if (withAdvice) {
+            builder.setControllerAdvice(new GlobalExceptionHandler());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.taskmanager.loader;
+
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Run with: mvn test -Pbenchmark -Dtest=TaskBatchLoaderBenchmark
+@Tag("benchmark")
+class TaskBatchLoaderBenchmark {
+
+    private static final int THREADS = 64;
+    private static final int LOOKUPS_PER_THREAD = 500;
+    private static final int HOT_IDS = 2_000;
+    // Same as the default Hikari pool size
+    private static final int CONNECTIONS = 10;
+
+    @Test
+    void compareDirectAndBatchedLookups() throws Exception {
+        for (boolean enabled : new boolean[]{false, true}) {
+            LongAdder queries = new LongAdder();
+            TaskBatchLoader loader = new TaskBatchLoader(simulatedRepository(queries), TaskShards.single(), enabled,
+                    Duration.ofNanos(200_000), 100);
+            long start = System.nanoTime();
+            runLoad(loader);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long lookups = (long) THREADS * LOOKUPS_PER_THREAD;
+            System.out.printf("%-8s lookups %,d  queries %,d  (%.1f lookups/query)  %.0f lookups/s  %.0f DB queries/s%n",
+                    enabled ? "batched" : "direct", lookups, queries.sum(), (double) lookups / queries.sum(),
+                    lookups / seconds, queries.sum() / seconds);
+        }
+    }
+
+    private static void runLoad(TaskBatchLoader loader) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+                    loader.load(1L + ThreadLocalRandom.current().nextInt(HOT_IDS));
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        executor.shutdown();
+    }
+
+    // A database behind a 10-connection pool where a query costs ~1ms plus a little per returned row
+    private static TaskRepository simulatedRepository(LongAdder queries) {
+        Semaphore pool = new Semaphore(CONNECTIONS);
+        return (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> {
+                    pool.acquire();
+                    try {
+                        return query(queries, method.getName(), args);
+                    } finally {
+                        pool.release();
+                    }
+                });
+    }
+
+    private static Object query(LongAdder queries, String method, Object[] args) {
+        switch (method) {
+            case "findById" -> {
+                queries.increment();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                return Optional.of(task((Long) args[0]));
+            }
+            case "findAllById" -> {
+                queries.increment();
+                List<Task> tasks = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    tasks.add(task((Long) id));
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1) + tasks.size() * 10_000L);
+                return tasks;
+            }
+            default -> throw new UnsupportedOperationException(method);
+        }
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.taskmanager.loader;
+
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchLoaderTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Test
+    void load_WhenDisabled_ShouldUseFindById() {
+        // Arrange
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, TaskShards.single(),
+                false, Duration.ofMillis(1), 10);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(1L)));
+
+        // Act
+        Optional<Task> result = loader.load(1L);
+
+        // Assert
+        assertEquals(1L, result.orElseThrow().getId());
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void load_WhenIdleAndMissing_ShouldQueryImmediatelyAndReturnEmpty() {
+        // Arrange
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, TaskShards.single(),
+                true, Duration.ofSeconds(10), 10);
+        when(taskRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act
+        long start = System.nanoTime();
+        Optional<Task> result = loader.load(42L);
+
+        // Assert - nothing else was running, so the window was not waited for
+        assertTrue(result.isEmpty());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        verify(taskRepository).findAllById(List.of(42L));
+    }
+
+    @Test
+    void load_WhenSameIdRequestedConcurrently_ShouldQueryOnce() throws Exception {
+        // Arrange
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, TaskShards.single(),
+                true, Duration.ofMillis(1), 10);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            release.await();
+            return List.of(task(1L));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<Optional<Task>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> loader.load(1L)));
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> loader.load(1L)));
+        }
+        awaitCoalesced(loader, 3);
+        release.countDown();
+
+        // Assert
+        for (Future<Optional<Task>> result : results) {
+            assertEquals(1L, result.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        }
+        executor.shutdown();
+        verify(taskRepository, times(1)).findAllById(any());
+        assertEquals(3, loader.getCoalesced());
+    }
+
+    @Test
+    void load_WhileAnotherQueryRuns_ShouldBatchDistinctIds() throws Exception {
+        // Arrange - the first query blocks, so the next ids are collected into one batch of 5
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, TaskShards.single(),
+                true, Duration.ofSeconds(10), 5);
+        CountDownLatch firstQueryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Task> tasks = StreamSupport.stream(ids.spliterator(), false).map(TaskBatchLoaderTest::task).toList();
+            if (tasks.getFirst().getId() == 0L) {
+                firstQueryStarted.countDown();
+                release.await();
+            }
+            return tasks;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        Future<Optional<Task>> blocking = executor.submit(() -> loader.load(0L));
+        assertTrue(firstQueryStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<Optional<Task>>> results = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            long taskId = id;
+            results.add(executor.submit(() -> loader.load(taskId)));
+        }
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        }
+        release.countDown();
+        assertTrue(blocking.get(5, TimeUnit.SECONDS).isPresent());
+        executor.shutdown();
+
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(taskRepository, times(2)).findAllById(ids.capture());
+        assertEquals(5, ((List<Long>) ids.getAllValues().get(1)).size());
+        assertEquals(2, loader.getQueries());
+        assertEquals(6, loader.getKeysLoaded());
+    }
+
+    @Test
+    void load_WhenQueryFails_ShouldPropagateAndNotCacheFailure() {
+        // Arrange
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, TaskShards.single(),
+                true, Duration.ofMillis(1), 10);
+        when(taskRepository.findAllById(any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of(task(1L)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> loader.load(1L));
+        assertTrue(loader.load(1L).isPresent());
+    }
+
+    @Test
+    void onTaskChanged_ShouldStopNewLookupsJoiningAnOlderRead() {
+        // Arrange
+        TaskBatchLoader loader = new TaskBatchLoader(taskRepository, TaskShards.single(),
+                true, Duration.ofMillis(1), 10);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task(1L)));
+
+        // Act
+        loader.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        // Assert - nothing was in flight; the next load simply queries
+        assertTrue(loader.load(1L).isPresent());
+        assertEquals(0, loader.getCoalesced());
+    }
+
+    private static void awaitCoalesced(TaskBatchLoader loader, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loader.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        return task;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.taskmanager.lookup;
+
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.event.TaskChangeFeedEvent;
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.event.TaskRowChangedEvent;
+import org.example.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KnownTaskIdsTest {
+
+    private TaskRepository taskRepository;
+    private KnownTaskIds knownTaskIds;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        // Ids 1..10 exist except 4, served in pages of 3
+        when(taskRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L));
+        when(taskRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of(5L, 6L, 7L));
+        when(taskRepository.findIdsAfter(eq(7L), any(Pageable.class))).thenReturn(List.of(8L, 9L, 10L));
+        when(taskRepository.findIdsAfter(eq(10L), any(Pageable.class))).thenReturn(List.of());
+        knownTaskIds = new KnownTaskIds(taskRepository, new TaskIdBitmap(1_000_000), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        knownTaskIds.stop();
+    }
+
+    @Test
+    void mightExist_BeforeFeedConnects_ShouldTrustNothing() {
+        // Act
+        knownTaskIds.settle();
+        knownTaskIds.settle();
+
+        // Assert
+        assertFalse(knownTaskIds.isReady());
+        assertTrue(knownTaskIds.mightExist(4L));
+    }
+
+    @Test
+    void mightExist_AfterRebuildAndSettle_ShouldRejectMissingIds() throws Exception {
+        // Arrange
+        connect();
+
+        // Act
+        knownTaskIds.settle();
+
+        // Assert
+        assertFalse(knownTaskIds.mightExist(4L));
+        assertFalse(knownTaskIds.mightExist(0L));
+        assertTrue(knownTaskIds.mightExist(5L));
+        assertTrue(knownTaskIds.mightExist(10L));
+        // Beyond the highest known id: could have been created on another node
+        assertTrue(knownTaskIds.mightExist(11L));
+    }
+
+    @Test
+    void newIds_ShouldPassUntilSettled() throws Exception {
+        // Arrange
+        connect();
+        knownTaskIds.settle();
+
+        // Act - 12 is created elsewhere, 11 is still in flight
+        knownTaskIds.onRowChanged(new TaskRowChangedEvent(12L, 0));
+
+        // Assert - trusted once a full settle period has passed since 12 became known
+        assertTrue(knownTaskIds.mightExist(11L));
+        knownTaskIds.settle();
+        assertTrue(knownTaskIds.mightExist(11L));
+        knownTaskIds.settle();
+        assertFalse(knownTaskIds.mightExist(11L));
+        assertTrue(knownTaskIds.mightExist(12L));
+    }
+
+    @Test
+    void deletes_ShouldTurnIdsIntoDefiniteMisses() throws Exception {
+        // Arrange
+        connect();
+        knownTaskIds.settle();
+
+        // Act
+        knownTaskIds.onTaskChanged(TaskChangedEvent.deleted(2L));
+        knownTaskIds.onRowChanged(new TaskRowChangedEvent(3L, TaskRowChangedEvent.DELETED));
+
+        // Assert
+        assertFalse(knownTaskIds.mightExist(2L));
+        assertFalse(knownTaskIds.mightExist(3L));
+        assertTrue(knownTaskIds.mightExist(1L));
+    }
+
+    @Test
+    void feedDisconnect_ShouldStopTrusting() throws Exception {
+        // Arrange
+        connect();
+        knownTaskIds.settle();
+        TaskDto created = new TaskDto();
+        created.setId(4L);
+
+        // Act
+        knownTaskIds.onFeedChanged(new TaskChangeFeedEvent(false));
+
+        // Assert
+        assertTrue(knownTaskIds.mightExist(4L));
+        connect();
+        knownTaskIds.onTaskChanged(TaskChangedEvent.created(created));
+        knownTaskIds.settle();
+        assertTrue(knownTaskIds.mightExist(4L));
+    }
+
+    @Test
+    void bitmap_ShouldGrowAndIgnoreIdsBeyondMax() {
+        // Arrange
+        TaskIdBitmap bitmap = new TaskIdBitmap(1_000_000);
+
+        // Act
+        assertTrue(bitmap.add(999_999));
+        assertFalse(bitmap.add(1_000_001));
+        bitmap.add(64);
+        bitmap.remove(64);
+
+        // Assert
+        assertTrue(bitmap.contains(999_999));
+        assertFalse(bitmap.contains(1_000_001));
+        assertFalse(bitmap.contains(64));
+        assertTrue(bitmap.estimatedBytes() <= 1_000_000 / 8 + Long.BYTES);
+    }
+
+    private void connect() throws InterruptedException {
+        knownTaskIds.onFeedChanged(new TaskChangeFeedEvent(true));
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!knownTaskIds.isReady()) {
+            assertTrue(System.nanoTime() < deadline, "rebuild did not finish");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.taskmanager.lookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanager.cache.TaskNearCache;
+import org.example.taskmanager.controller.TaskController;
+import org.example.taskmanager.event.TaskChangeFeedEvent;
+import org.example.taskmanager.exception.GlobalExceptionHandler;
+import org.example.taskmanager.loader.TaskBatchLoader;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.service.TaskServiceImpl;
+import org.example.taskmanager.shard.TaskShards;
+import org.example.taskmanager.writer.TaskWriteBatcher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.test.web.servlet.setup.StandaloneMockMvcBuilder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Run with: mvn test -Pbenchmark -Dtest=NegativeLookupBenchmark
+@Tag("benchmark")
+class NegativeLookupBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 2_000;
+    private static final int ID_RANGE = 100_000;
+    // One id in ten still exists; the rest of the traffic asks for deleted or never-created ids
+    private static final double EXISTING_RATIO = 0.1;
+    // Same as the default Hikari pool size
+    private static final int CONNECTIONS = 10;
+
+    @Test
+    void compareMissHeavyTrafficWithAndWithoutFilter() throws Exception {
+        BitSet existing = new BitSet(ID_RANGE + 1);
+        Random random = new Random(1);
+        for (int id = 1; id <= ID_RANGE; id++) {
+            if (random.nextDouble() < EXISTING_RATIO || id == ID_RANGE) {
+                existing.set(id);
+            }
+        }
+
+        for (boolean filtered : new boolean[]{false, true}) {
+            LongAdder queries = new LongAdder();
+            MockMvc mockMvc = mockMvc(existing, queries, filtered);
+            LongAdder notFound = new LongAdder();
+            long start = System.nanoTime();
+            runLoad(mockMvc, notFound);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long requests = (long) THREADS * REQUESTS_PER_THREAD;
+            System.out.printf("%-10s requests %,d  404s %,d  DB queries %,d  %.0f requests/s%n",
+                    filtered ? "filtered" : "unfiltered", requests, notFound.sum(), queries.sum(),
+                    requests / seconds);
+        }
+    }
+
+    private static MockMvc mockMvc(BitSet existing, LongAdder queries, boolean filtered) throws Exception {
+        TaskRepository repository = simulatedRepository(existing, queries);
+        TaskServiceImpl service = new TaskServiceImpl(repository,
+                new TaskBatchLoader(repository, TaskShards.single(), false, Duration.ZERO, 1),
+                new TaskNearCache(1), TaskShards.single(),
+                new TaskWriteBatcher(repository, TaskShards.single(), null, false, Duration.ZERO, 1, 1), event -> { });
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        StandaloneMockMvcBuilder builder = MockMvcBuilders.standaloneSetup(new TaskController(service))
+                .setControllerAdvice(new GlobalExceptionHandler());
+        if (filtered) {
+            KnownTaskIds knownTaskIds = new KnownTaskIds(repository, new TaskIdBitmap(ID_RANGE), ID_RANGE);
+            knownTaskIds.onFeedChanged(new TaskChangeFeedEvent(true));
+            while (!knownTaskIds.isReady()) {
+                Thread.sleep(1);
+            }
+            knownTaskIds.settle();
+            knownTaskIds.settle();
+            queries.reset();
+            builder.addFilters(new NegativeLookupFilter(knownTaskIds, objectMapper, new SimpleMeterRegistry()));
+        }
+        return builder.build();
+    }
+
+    private static void runLoad(MockMvc mockMvc, LongAdder notFound) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        long id = 1 + ThreadLocalRandom.current().nextInt(ID_RANGE);
+                        int status = mockMvc.perform(get("/api/v0/tasks/" + id)).andReturn().getResponse().getStatus();
+                        if (status == 404) {
+                            notFound.increment();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+    }
+
+    // A database behind a 10-connection pool where a query costs ~1ms
+    private static TaskRepository simulatedRepository(BitSet existing, LongAdder queries) {
+        Semaphore pool = new Semaphore(CONNECTIONS);
+        return (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> {
+                    pool.acquire();
+                    try {
+                        queries.increment();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                        return switch (method.getName()) {
+                            case "findById" -> {
+                                long id = (Long) args[0];
+                                yield existing.get((int) id) ? Optional.of(task(id)) : Optional.empty();
+                            }
+                            case "findIdsAfter" -> ids(existing, (Long) args[0], (Pageable) args[1]);
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        };
+                    } finally {
+                        pool.release();
+                    }
+                });
+    }
+
+    private static List<Long> ids(BitSet existing, long afterId, Pageable pageable) {
+        List<Long> ids = new ArrayList<>();
+        for (int id = existing.nextSetBit((int) afterId + 1); id >= 0 && ids.size() < pageable.getPageSize();
+             id = existing.nextSetBit(id + 1)) {
+            ids.add((long) id);
+        }
+        return ids;
+    }
+
+    private static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setVersion(0L);
+        return task;
+    }
+}
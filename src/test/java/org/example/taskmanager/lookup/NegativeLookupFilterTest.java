@@ -0,0 +1,92 @@
+package org.example.taskmanager.lookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanager.controller.TaskController;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.exception.GlobalExceptionHandler;
+import org.example.taskmanager.exception.TaskNotFoundException;
+import org.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NegativeLookupFilterTest {
+
+    private TaskService taskService;
+    private KnownTaskIds knownTaskIds;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        knownTaskIds = mock(KnownTaskIds.class);
+        when(knownTaskIds.mightExist(anyLong())).thenReturn(true);
+        NegativeLookupFilter filter = new NegativeLookupFilter(knownTaskIds, new ObjectMapper(),
+                new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+    }
+
+    @Test
+    void getTask_WhenDefinitelyMissing_ShouldAnswerLikeTheExceptionHandlerWithoutService() throws Exception {
+        // Arrange
+        when(taskService.getTaskById(999L)).thenThrow(new TaskNotFoundException("Task with ID 999 not found"));
+        String expected = mockMvc.perform(get("/api/v0/tasks/999"))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getContentAsString();
+        when(knownTaskIds.mightExist(999L)).thenReturn(false);
+
+        // Act
+        String body = mockMvc.perform(get("/api/v0/tasks/999"))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals(expected, body);
+        verify(taskService, times(1)).getTaskById(999L);
+    }
+
+    @Test
+    void deleteTask_WhenDefinitelyMissing_ShouldNotReachService() throws Exception {
+        // Arrange
+        when(knownTaskIds.mightExist(5L)).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v0/tasks/5"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getTask_WhenPossiblyPresent_ShouldPassThrough() throws Exception {
+        // Arrange
+        TaskDto taskDto = new TaskDto();
+        taskDto.setId(7L);
+        when(taskService.getTaskById(7L)).thenReturn(taskDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v0/tasks/7"))
+                .andExpect(status().isOk());
+        verify(taskService).getTaskById(7L);
+    }
+
+    @Test
+    void otherPaths_ShouldNotBeInspected() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/v0/tasks"));
+        mockMvc.perform(get("/api/v0/tasks/abc"));
+
+        // Assert
+        verifyNoInteractions(knownTaskIds);
+    }
+}
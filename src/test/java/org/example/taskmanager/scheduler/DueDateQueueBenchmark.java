@@ -0,0 +1,67 @@
+package org.example.taskmanager.scheduler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark -Dtest=DueDateQueueBenchmark
+@Tag("benchmark")
+class DueDateQueueBenchmark {
+
+    private static final int TASKS = 10_000_000;
+    private static final long NOW = 1_800_000_000L;
+    private static final int HORIZON_SECONDS = 30 * 24 * 3600;
+
+    @Test
+    void scheduleAndDrainTenMillionTasks() {
+        Random random = new Random(1);
+        long heapBefore = usedHeap();
+
+        long start = System.nanoTime();
+        DueDateQueue queue = new DueDateQueue(TASKS);
+        for (long id = 1; id <= TASKS; id++) {
+            queue.schedule(id, NOW + random.nextInt(HORIZON_SECONDS));
+        }
+        long scheduleNanos = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+
+        // 10% of the tasks get their due date moved, as updates would do
+        start = System.nanoTime();
+        for (int i = 0; i < TASKS / 10; i++) {
+            queue.schedule(1 + random.nextInt(TASKS), NOW + random.nextInt(HORIZON_SECONDS));
+        }
+        long rescheduleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long[] batch = new long[1000];
+        long fired = 0;
+        int count;
+        while ((count = queue.pollDue(NOW + HORIZON_SECONDS, batch)) > 0) {
+            fired += count;
+        }
+        long drainNanos = System.nanoTime() - start;
+
+        assertEquals(TASKS, fired);
+        System.out.printf("DueDateQueue with %,d tasks%n", TASKS);
+        System.out.printf("  schedule:   %,d ms (%,.0f ops/s)%n", scheduleNanos / 1_000_000,
+                TASKS / (scheduleNanos / 1e9));
+        System.out.printf("  reschedule: %,d ms (%,.0f ops/s)%n", rescheduleNanos / 1_000_000,
+                TASKS / 10 / (rescheduleNanos / 1e9));
+        System.out.printf("  drain:      %,d ms (%,.0f fired/s in batches of %d)%n", drainNanos / 1_000_000,
+                fired / (drainNanos / 1e9), batch.length);
+        System.out.printf("  memory:     %,d MB measured, %,d MB estimated (%.1f bytes/task)%n",
+                (heapAfter - heapBefore) >> 20, queue.estimatedBytes() >> 20,
+                (double) (heapAfter - heapBefore) / TASKS);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
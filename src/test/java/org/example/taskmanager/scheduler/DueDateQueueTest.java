@@ -0,0 +1,128 @@
+package org.example.taskmanager.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DueDateQueueTest {
+
+    private static final long NOW = 1_800_000_000L;
+
+    @Test
+    void pollDue_ShouldReturnOnlyDueTasksEarliestFirst() {
+        // Arrange
+        DueDateQueue queue = new DueDateQueue();
+        queue.schedule(3, NOW + 30);
+        queue.schedule(1, NOW + 10);
+        queue.schedule(2, NOW + 20);
+        long[] out = new long[10];
+
+        // Act
+        int count = queue.pollDue(NOW + 20, out);
+
+        // Assert
+        assertEquals(2, count);
+        assertArrayEquals(new long[]{1, 2}, Arrays.copyOf(out, count));
+        assertEquals(1, queue.size());
+        assertEquals(NOW + 30, queue.peekDueEpochSecond());
+    }
+
+    @Test
+    void pollDue_ShouldRespectBatchSize() {
+        // Arrange
+        DueDateQueue queue = new DueDateQueue();
+        for (long id = 1; id <= 5; id++) {
+            queue.schedule(id, NOW);
+        }
+        long[] out = new long[2];
+
+        // Act & Assert
+        assertEquals(2, queue.pollDue(NOW, out));
+        assertEquals(2, queue.pollDue(NOW, out));
+        assertEquals(1, queue.pollDue(NOW, out));
+        assertEquals(0, queue.pollDue(NOW, out));
+    }
+
+    @Test
+    void schedule_WhenRescheduledOrCancelled_ShouldFireLatestStateOnly() {
+        // Arrange
+        DueDateQueue queue = new DueDateQueue();
+        queue.schedule(1, NOW + 10);
+        queue.schedule(1, NOW + 50);
+        queue.schedule(2, NOW + 10);
+        queue.cancel(2);
+        long[] out = new long[10];
+
+        // Act & Assert
+        assertEquals(0, queue.pollDue(NOW + 20, out));
+        assertEquals(1, queue.pollDue(NOW + 50, out));
+        assertEquals(1, out[0]);
+        assertEquals(0, queue.size());
+        assertEquals(Long.MAX_VALUE, queue.peekDueEpochSecond());
+    }
+
+    @Test
+    void randomOperations_ShouldMatchReferenceModel() {
+        // Arrange
+        DueDateQueue queue = new DueDateQueue(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act - enough churn to force resizes and compactions
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                queue.cancel(id);
+                expected.remove(id);
+            } else {
+                long due = NOW + random.nextInt(1_000);
+                queue.schedule(id, due);
+                expected.put(id, due);
+            }
+        }
+
+        // Assert - draining yields every live task exactly once, in due order
+        assertEquals(expected.size(), queue.size());
+        long[] out = new long[expected.size() + 1];
+        int count = queue.pollDue(NOW + 1_000, out);
+        assertEquals(expected.size(), count);
+        long previousDue = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            Long due = expected.remove(out[i]);
+            assertNotNull(due);
+            assertTrue(due >= previousDue);
+            previousDue = due;
+        }
+        assertTrue(expected.isEmpty());
+    }
+
+    @Test
+    void longIntHashMap_ShouldSurviveRemovalsAcrossProbeChains() {
+        // Arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.getOrDefault(key, LongIntHashMap.NO_VALUE), map.remove(key));
+                expected.remove(key);
+            } else {
+                int value = random.nextInt(1_000);
+                assertEquals(expected.getOrDefault(key, LongIntHashMap.NO_VALUE), map.put(key, value));
+                expected.put(key, value);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+}
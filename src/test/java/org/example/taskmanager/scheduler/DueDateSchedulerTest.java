@@ -0,0 +1,160 @@
+package org.example.taskmanager.scheduler;
+
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.event.TaskChangedEvent;
+import org.example.taskmanager.event.TasksOverdueEvent;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.model.TaskSchedule;
+import org.example.taskmanager.model.TaskStatus;
+import org.example.taskmanager.repository.SchedulerLeaseRepository;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DueDateSchedulerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DueDateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerProperties properties = new SchedulerProperties();
+        scheduler = new DueDateScheduler(taskRepository, TaskShards.single(), leaseRepository,
+                new TransactionTemplate(transactionManager), eventPublisher, properties);
+    }
+
+    @Test
+    void fireDue_ShouldFlagDueTasksAndPublishOneEventPerBatch() {
+        // Arrange
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(1L, LocalDateTime.now().minusMinutes(1))));
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(2L, LocalDateTime.now().minusMinutes(2))));
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(3L, LocalDateTime.now().plusDays(1))));
+        when(taskRepository.lockOverdueCandidates(anyCollection(), any(), eq(TaskStatus.COMPLETED)))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .map(DueDateSchedulerTest::task)
+                        .toList());
+
+        // Act
+        scheduler.fireDue();
+
+        // Assert
+        ArgumentCaptor<TasksOverdueEvent> event = ArgumentCaptor.forClass(TasksOverdueEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(2L, 1L), event.getValue().getTaskIds());
+        verify(taskRepository).markOverdue(eq(List.of(2L, 1L)), any(LocalDateTime.class));
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void fireDue_WhenTaskAlreadyFlaggedElsewhere_ShouldNotPublish() {
+        // Arrange
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(1L, LocalDateTime.now().minusMinutes(1))));
+        when(taskRepository.lockOverdueCandidates(anyCollection(), any(), eq(TaskStatus.COMPLETED)))
+                .thenReturn(List.of());
+
+        // Act
+        scheduler.fireDue();
+
+        // Assert
+        verify(taskRepository, never()).markOverdue(any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void onTaskChanged_WhenCompletedOrDeleted_ShouldUnschedule() {
+        // Arrange
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(1L, LocalDateTime.now().plusDays(1))));
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(2L, LocalDateTime.now().plusDays(1))));
+        TaskDto completed = taskDto(1L, LocalDateTime.now().plusDays(1));
+        completed.setStatus(TaskStatus.COMPLETED);
+
+        // Act
+        scheduler.onTaskChanged(TaskChangedEvent.updated(completed));
+        scheduler.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        // Assert
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void tick_WhenLeaseHeldByAnotherNode_ShouldNotFire() {
+        // Arrange
+        scheduler.onTaskChanged(TaskChangedEvent.created(taskDto(1L, LocalDateTime.now().minusSeconds(5))));
+        when(taskRepository.findSchedulesChangedSince(any(), anyLong(), any())).thenReturn(List.of());
+        when(leaseRepository.acquire(eq(DueDateScheduler.LEASE_NAME), anyString(), any(), any())).thenReturn(0);
+        when(leaseRepository.existsById(DueDateScheduler.LEASE_NAME)).thenReturn(true);
+
+        // Act
+        scheduler.tick();
+
+        // Assert
+        assertFalse(scheduler.isLeader());
+        verify(taskRepository, never()).lockOverdueCandidates(any(), any(), any());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void pullChanges_ShouldRereadAnOverlapBehindTheNewestChange() {
+        // Arrange - first pull sees a change stamped at t; a row stamped earlier commits afterwards
+        scheduler.seed();
+        LocalDateTime t = LocalDateTime.now();
+        TaskSchedule seen = new TaskSchedule(1L, LocalDateTime.now().plusDays(1), TaskStatus.PENDING, false, t);
+        TaskSchedule late = new TaskSchedule(2L, LocalDateTime.now().plusDays(1), TaskStatus.PENDING, false,
+                t.minusSeconds(2));
+        when(taskRepository.findSchedulesChangedSince(any(), anyLong(), any()))
+                .thenReturn(List.of(seen))
+                .thenReturn(List.of(late, seen));
+
+        // Act
+        scheduler.pullChanges();
+        scheduler.pullChanges();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository, times(2)).findSchedulesChangedSince(since.capture(), eq(0L), any());
+        assertEquals(t.minus(new SchedulerProperties().getDeltaOverlap()), since.getAllValues().get(1));
+        assertEquals(2, scheduler.size());
+    }
+
+    private static TaskDto taskDto(Long id, LocalDateTime dueDate) {
+        TaskDto dto = new TaskDto();
+        dto.setId(id);
+        dto.setStatus(TaskStatus.PENDING);
+        dto.setDueDate(dueDate);
+        return dto;
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+}
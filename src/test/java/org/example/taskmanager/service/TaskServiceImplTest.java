@@ -1,27 +1,37 @@
 package org.example.taskmanager.service;
 
+import org.example.taskmanager.cache.TaskNearCache;
 import org.example.taskmanager.dto.TaskCreateRequest;
 import org.example.taskmanager.dto.TaskDto;
 import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.event.TaskChangedEvent;
 import org.example.taskmanager.exception.TaskNotFoundException;
+import org.example.taskmanager.loader.TaskBatchLoader;
 import org.example.taskmanager.model.Task;
 import org.example.taskmanager.model.TaskStatus;
 import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
 import org.example.taskmanager.mapper.TaskMapper;
+import org.example.taskmanager.writer.TaskWriteBatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.MockedStatic;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +40,22 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskBatchLoader taskBatchLoader;
+
+    @Mock
+    private TaskNearCache taskNearCache;
+
+    @Spy
+    private TaskShards taskShards = TaskShards.single();
+
+    // Disabled unless a test stubs isEnabled
+    @Mock
+    private TaskWriteBatcher taskWriteBatcher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -50,6 +76,7 @@ class TaskServiceImplTest {
         task.setDueDate(now.plusDays(7));
         task.setCreatedAt(now);
         task.setUpdatedAt(now);
+        task.setVersion(3L);
 
         taskDto = new TaskDto();
         taskDto.setId(1L);
@@ -95,7 +122,7 @@ class TaskServiceImplTest {
     @Test
     void getTaskById_WhenTaskExists_ShouldReturnTask() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskBatchLoader.load(1L)).thenReturn(Optional.of(task));
         try (MockedStatic<TaskMapper> mockedMapper = mockStatic(TaskMapper.class)) {
             mockedMapper.when(() -> TaskMapper.toDto(task)).thenReturn(taskDto);
 
@@ -104,19 +131,33 @@ class TaskServiceImplTest {
 
             // Assert
             assertEquals(taskDto, result);
-            verify(taskRepository).findById(1L);
+            verify(taskBatchLoader).load(1L);
+            verify(taskNearCache).put(eq(1L), eq(3L), eq(taskDto), anyLong());
             mockedMapper.verify(() -> TaskMapper.toDto(task));
         }
     }
 
+    @Test
+    void getTaskById_WhenCached_ShouldNotHitDatabase() {
+        // Arrange
+        when(taskNearCache.get(1L)).thenReturn(taskDto);
+
+        // Act
+        TaskDto result = taskService.getTaskById(1L);
+
+        // Assert
+        assertEquals(taskDto, result);
+        verifyNoInteractions(taskBatchLoader, taskRepository);
+    }
+
     @Test
     void getTaskById_WhenTaskDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskBatchLoader.load(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(999L));
-        verify(taskRepository).findById(999L);
+        verify(taskBatchLoader).load(999L);
     }
 
     @Test
@@ -138,6 +179,7 @@ class TaskServiceImplTest {
             mockedMapper.verify(() -> TaskMapper.toEntity(createRequest));
             verify(taskRepository).save(any(Task.class));
             mockedMapper.verify(() -> TaskMapper.toDto(task));
+            verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
         }
     }
 
@@ -176,6 +218,7 @@ class TaskServiceImplTest {
         assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(999L, updateRequest));
         verify(taskRepository).findById(999L);
         verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -190,6 +233,7 @@ class TaskServiceImplTest {
         // Assert
         verify(taskRepository).existsById(1L);
         verify(taskRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
     }
 
     @Test
@@ -202,4 +246,50 @@ class TaskServiceImplTest {
         verify(taskRepository).existsById(999L);
         verify(taskRepository, never()).deleteById(any());
     }
+
+    @Test
+    void updateTask_WhenOverdueTaskGetsFutureDueDate_ShouldClearOverdue() {
+        // Arrange
+        task.setOverdue(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // Act
+        TaskDto result = taskService.updateTask(1L, updateRequest);
+
+        // Assert
+        assertFalse(task.isOverdue());
+        assertFalse(result.isOverdue());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void updateTask_WhenWriterEnabled_ShouldApplyChangeInsideBatch() {
+        // Arrange
+        when(taskWriteBatcher.isEnabled()).thenReturn(true);
+        when(taskWriteBatcher.update(eq(0), eq(1L), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Task>>getArgument(2).accept(task);
+            return task;
+        });
+
+        // Act
+        TaskDto result = taskService.updateTask(1L, updateRequest);
+
+        // Assert
+        assertEquals(updateRequest.getTitle(), result.getTitle());
+        assertEquals(updateRequest.getStatus(), task.getStatus());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void updateTask_WhenWriterEnabled_AndTaskDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(taskWriteBatcher.isEnabled()).thenReturn(true);
+        when(taskWriteBatcher.update(eq(0), eq(999L), any())).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(999L, updateRequest));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
 }
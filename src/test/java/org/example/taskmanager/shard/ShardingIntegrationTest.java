@@ -0,0 +1,205 @@
+package org.example.taskmanager.shard;
+
+import org.example.taskmanager.TaskManagerApplication;
+import org.example.taskmanager.dto.TaskCreateRequest;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.exception.TaskNotFoundException;
+import org.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * One node over three shards, each its own database on the test server (created and dropped here).
+ */
+class ShardingIntegrationTest {
+
+    private static final String SERVER = "jdbc:postgresql://localhost:5432/";
+    private static final int SHARDS = 3;
+
+    private static final List<JdbcTemplate> databases = new ArrayList<>();
+    private static JdbcTemplate server;
+    private static ConfigurableApplicationContext node;
+
+    @BeforeAll
+    static void start() {
+        server = jdbc(System.getenv("POSTGRES_DB"));
+        List<String> args = new ArrayList<>(List.of(
+                "--task.shard.enabled=true",
+                "--task.scheduler.tick=100ms",
+                "--task.scheduler.delta-interval=100ms",
+                "--task.cache.poll-interval=50ms",
+                "--spring.jpa.show-sql=false"));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            String name = database(shard);
+            server.execute("drop database if exists " + name + " with (force)");
+            server.execute("create database " + name);
+            databases.add(jdbc(name));
+            args.add(shard == 0 ? "--spring.datasource.url=" + SERVER + name
+                    : "--task.shard.datasources[" + (shard - 1) + "].url=" + SERVER + name);
+        }
+        node = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    @AfterAll
+    static void stop() {
+        if (node != null) {
+            node.close();
+        }
+        for (int shard = 0; shard < SHARDS; shard++) {
+            server.execute("drop database if exists " + database(shard) + " with (force)");
+        }
+    }
+
+    @Test
+    void createTask_ShouldSpreadTasksOverShardsWithIdsNamingTheirShard() {
+        // Act
+        List<TaskDto> created = new ArrayList<>();
+        for (int i = 0; i < SHARDS * 2; i++) {
+            created.add(service().createTask(createRequest("spread " + i)));
+        }
+
+        // Assert
+        for (TaskDto task : created) {
+            int shard = TaskIds.shardOf(task.getId());
+            assertEquals(1, databases.get(shard).queryForObject(
+                    "select count(*) from tasks where id = ?", Integer.class, task.getId()));
+        }
+        assertEquals(SHARDS, created.stream().map(task -> TaskIds.shardOf(task.getId())).distinct().count());
+        List<Long> listed = service().getAllTasks().stream()
+                .filter(task -> task.getTitle().startsWith("spread "))
+                .map(TaskDto::getId)
+                .toList();
+        assertEquals(created.stream().map(TaskDto::getId).sorted().toList(), listed);
+    }
+
+    @Test
+    void singleIdOperations_ShouldGoToTheOwningShard() {
+        // Arrange
+        TaskDto created = service().createTask(createRequest("routed"));
+        JdbcTemplate owner = databases.get(TaskIds.shardOf(created.getId()));
+
+        // Act
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setTitle("routed and updated");
+        service().updateTask(created.getId(), update);
+
+        // Assert
+        assertEquals("routed and updated", service().getTaskById(created.getId()).getTitle());
+        assertEquals("routed and updated", owner.queryForObject("select title from tasks where id = ?",
+                String.class, created.getId()));
+        service().deleteTask(created.getId());
+        assertThrows(TaskNotFoundException.class, () -> service().getTaskById(created.getId()));
+        assertEquals(0, owner.queryForObject("select count(*) from tasks where id = ?", Integer.class,
+                created.getId()));
+    }
+
+    @Test
+    void idsOfUnknownShards_ShouldNotBeFound() {
+        // Arrange
+        long foreign = TaskIds.compose(System.currentTimeMillis(), SHARDS + 4, 1);
+
+        // Act & Assert
+        assertThrows(TaskNotFoundException.class, () -> service().getTaskById(foreign));
+        assertThrows(TaskNotFoundException.class, () -> service().deleteTask(foreign));
+    }
+
+    @Test
+    void writesOnAnyShard_ShouldInvalidateTheNearCache() {
+        // Arrange - one cached task per shard
+        List<TaskDto> cached = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            TaskDto created = service().createTask(createRequest("cached " + i));
+            service().getTaskById(created.getId());
+            cached.add(created);
+        }
+
+        // Act - another node renames them, straight in each shard
+        for (TaskDto task : cached) {
+            databases.get(TaskIds.shardOf(task.getId())).update(
+                    "update tasks set title = 'renamed', version = version + 1 where id = ?", task.getId());
+        }
+
+        // Assert
+        for (TaskDto task : cached) {
+            awaitTrue(() -> "renamed".equals(service().getTaskById(task.getId()).getTitle()),
+                    "shard " + TaskIds.shardOf(task.getId()) + " change to reach the cache");
+        }
+    }
+
+    @Test
+    void dueTasks_ShouldBeFlaggedOnEveryShard() {
+        // Arrange
+        List<TaskDto> due = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            TaskCreateRequest request = createRequest("due " + i);
+            request.setDueDate(LocalDateTime.now().minusSeconds(1));
+            due.add(service().createTask(request));
+        }
+
+        // Assert
+        for (TaskDto task : due) {
+            JdbcTemplate owner = databases.get(TaskIds.shardOf(task.getId()));
+            awaitTrue(() -> owner.queryForObject("select overdue from tasks where id = ?", Boolean.class,
+                    task.getId()), "task on shard " + TaskIds.shardOf(task.getId()) + " to be flagged");
+        }
+    }
+
+    @Test
+    void claim_ShouldRefuseADatabaseClaimedAsAnotherShard() {
+        // Act & Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> ShardSchema.claim(databases.get(1), 2));
+        assertTrue(thrown.getMessage().contains("claimed as shard 1"));
+    }
+
+    private static TaskService service() {
+        return node.getBean(TaskService.class);
+    }
+
+    private static TaskCreateRequest createRequest(String title) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private static String database(int shard) {
+        return "task_shard_test_" + shard;
+    }
+
+    private static JdbcTemplate jdbc(String database) {
+        return new JdbcTemplate(new DriverManagerDataSource(SERVER + database, System.getenv("POSTGRES_USER"),
+                System.getenv("POSTGRES_PASSWORD")));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + description);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.taskmanager.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskShardsTest {
+
+    private final TaskShards shards = new TaskShards(3, 2);
+
+    @AfterEach
+    void tearDown() {
+        shards.stop();
+    }
+
+    @Test
+    void ownerOf_ShouldDecodeShardAndSendLegacyIdsToShardZero() {
+        // Arrange
+        long sharded = TaskIds.compose(System.currentTimeMillis(), 2, 4097);
+        long unknownShard = TaskIds.compose(System.currentTimeMillis(), 5, 1);
+
+        // Act & Assert
+        assertEquals(2, shards.ownerOf(sharded));
+        assertEquals(0, shards.ownerOf(123_456L));
+        assertEquals(-1, shards.ownerOf(unknownShard));
+        assertTrue(sharded > 0);
+    }
+
+    @Test
+    void nextShard_ShouldRoundRobin() {
+        // Act
+        List<Integer> picked = List.of(shards.nextShard(), shards.nextShard(), shards.nextShard(),
+                shards.nextShard());
+
+        // Assert
+        assertEquals(List.of(0, 1, 2, 0), picked);
+    }
+
+    @Test
+    void scatter_ShouldRunOnEveryShardAndReturnResultsInShardOrder() {
+        // Act
+        List<String> results = shards.scatter(shard -> shard + ":" + TaskShards.current()
+                + ":" + Thread.currentThread().getName().startsWith("task-shard-"));
+
+        // Assert - shard 0 runs on the caller
+        assertEquals(List.of("0:0:false", "1:1:true", "2:2:true"), results);
+        assertNull(TaskShards.current());
+    }
+
+    @Test
+    void scatter_WhenOneShardFails_ShouldRethrowItsException() {
+        // Act & Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> shards.scatter(shard -> {
+            if (shard == 1) {
+                throw new IllegalStateException("shard 1 down");
+            }
+            return shard;
+        }));
+        assertEquals("shard 1 down", thrown.getMessage());
+    }
+
+    @Test
+    void on_ShouldRestoreTheOuterShard() {
+        // Act
+        int inner = shards.on(1, () -> shards.on(2, TaskShards::current));
+        Integer outer = shards.on(1, TaskShards::current);
+
+        // Assert
+        assertEquals(2, inner);
+        assertEquals(1, outer);
+        assertNull(TaskShards.current());
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.taskmanager.writer;
+
+import org.example.taskmanager.TaskManagerApplication;
+import org.example.taskmanager.cache.TaskNearCache;
+import org.example.taskmanager.dto.TaskCreateRequest;
+import org.example.taskmanager.dto.TaskDto;
+import org.example.taskmanager.dto.TaskUpdateRequest;
+import org.example.taskmanager.loader.TaskBatchLoader;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.service.TaskServiceImpl;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Run with: mvn test -Pbenchmark -Dtest=GroupCommitBenchmark
+// Needs the database from application.properties; created rows are deleted afterwards
+@Tag("benchmark")
+class GroupCommitBenchmark {
+
+    // Light load, where a batch window mostly adds latency, and heavy load, where it pays off
+    private static final int[] THREADS = {8, 64};
+    // Each round is a POST followed by a PATCH of the created task
+    private static final int ROUNDS_PER_THREAD = 150;
+    private static final Duration[] WINDOWS = {Duration.ZERO, Duration.ofMillis(1), Duration.ofMillis(2),
+            Duration.ofMillis(5)};
+
+    @Test
+    void compareBatchWindows() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--task.scheduler.enabled=false", "--spring.jpa.show-sql=false")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            try {
+                // Warm-up, not reported
+                run(context, 16, null, false);
+                for (int threads : THREADS) {
+                    run(context, threads, null, true);
+                    for (Duration window : WINDOWS) {
+                        run(context, threads, window, true);
+                    }
+                }
+            } finally {
+                jdbc.update("delete from tasks where title like 'bench %'");
+            }
+        }
+    }
+
+    // A null window writes each task in its own transaction
+    private static void run(ConfigurableApplicationContext context, int threads, Duration window, boolean report)
+            throws Exception {
+        TaskRepository repository = context.getBean(TaskRepository.class);
+        TaskShards shards = context.getBean(TaskShards.class);
+        TaskWriteBatcher writer = new TaskWriteBatcher(repository, shards,
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class)), window != null,
+                window != null ? window : Duration.ZERO, 100, 1000);
+        TaskServiceImpl service = new TaskServiceImpl(repository, context.getBean(TaskBatchLoader.class),
+                context.getBean(TaskNearCache.class), shards, writer, context);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                List<Long> latencies = new ArrayList<>(ROUNDS_PER_THREAD * 2);
+                for (int i = 0; i < ROUNDS_PER_THREAD; i++) {
+                    TaskCreateRequest create = new TaskCreateRequest();
+                    create.setTitle("bench " + i);
+                    long begin = System.nanoTime();
+                    TaskDto created = service.createTask(create);
+                    latencies.add(System.nanoTime() - begin);
+
+                    TaskUpdateRequest update = new TaskUpdateRequest();
+                    update.setDescription("patched");
+                    begin = System.nanoTime();
+                    service.updateTask(created.getId(), update);
+                    latencies.add(System.nanoTime() - begin);
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> result : results) {
+            latencies.addAll(result.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        writer.stop();
+
+        if (!report) {
+            return;
+        }
+        Collections.sort(latencies);
+        System.out.printf("threads %2d  %-14s writes %,7d  %7.0f writes/s  p50 %6.2fms  p99 %6.2fms"
+                        + "  writes/commit %5.1f%n", threads,
+                window == null ? "per-request" : "window " + window.toMillis() + "ms", latencies.size(),
+                latencies.size() / seconds, percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                writer.getBatches() == 0 ? 1.0 : (double) writer.getWrites() / writer.getBatches());
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1));
+    }
+}
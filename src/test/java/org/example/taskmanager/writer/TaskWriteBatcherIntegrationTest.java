@@ -0,0 +1,80 @@
+package org.example.taskmanager.writer;
+
+import org.example.taskmanager.TaskManagerApplication;
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskWriteBatcherIntegrationTest {
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--task.scheduler.enabled=false");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void create_WhenOneRowInBatchFails_ShouldStillInsertTheOthers() throws Exception {
+        // Arrange - a window long enough that only a full batch of three is flushed
+        TaskWriteBatcher writer = new TaskWriteBatcher(context.getBean(TaskRepository.class),
+                context.getBean(TaskShards.class),
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class)), true,
+                Duration.ofSeconds(30), 3, 10);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        String marker = UUID.randomUUID().toString();
+        try {
+            // Act - the valid rows are inserted before the one too long for its column fails the batch
+            Future<Task> first = callers.submit(() -> writer.create(0, task(marker + " a")));
+            Future<Task> second = callers.submit(() -> writer.create(0, task(marker + " b")));
+            Thread.sleep(200);
+            Future<Task> bad = callers.submit(() -> writer.create(0, task(marker + "x".repeat(300))));
+
+            // Assert
+            assertNotNull(first.get().getId());
+            assertNotNull(second.get().getId());
+            ExecutionException error = assertThrows(ExecutionException.class, bad::get);
+            assertInstanceOf(DataAccessException.class, error.getCause());
+            assertEquals(1, writer.getFallbacks());
+            List<String> titles = context.getBean(JdbcTemplate.class).queryForList(
+                    "select title from tasks where title like ? order by title", String.class, marker + "%");
+            assertEquals(List.of(marker + " a", marker + " b"), titles);
+        } finally {
+            writer.stop();
+            callers.shutdownNow();
+        }
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.taskmanager.writer;
+
+import org.example.taskmanager.model.Task;
+import org.example.taskmanager.repository.TaskRepository;
+import org.example.taskmanager.shard.TaskShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskWriteBatcherTest {
+
+    // Long enough that only a full batch triggers a flush
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private TaskRepository taskRepository;
+    private PlatformTransactionManager transactionManager;
+    private TaskWriteBatcher writer;
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            if ("bad".equals(task.getTitle())) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            task.setId(nextId.getAndIncrement());
+            return task;
+        });
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            // Only task 1 exists
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .filter(id -> id == 1L)
+                    .map(TaskWriteBatcherTest::task)
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void create_WhenConcurrent_ShouldCommitOneTransactionPerBatch() throws Exception {
+        // Arrange
+        writer = writer(4);
+
+        // Act
+        List<Future<Task>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> writer.create(0, newTask("Task"))));
+        }
+
+        // Assert - every caller gets its own row
+        List<Long> ids = new ArrayList<>();
+        for (Future<Task> result : results) {
+            ids.add(result.get().getId());
+        }
+        assertEquals(4, ids.stream().distinct().count());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(1, writer.getBatches());
+        assertEquals(4, writer.getWrites());
+    }
+
+    @Test
+    void update_WhenTaskMissing_ShouldReturnNullWithoutFailingOthers() throws Exception {
+        // Arrange
+        writer = writer(2);
+
+        // Act
+        Future<Task> existing = callers.submit(() -> writer.update(0, 1L, task -> task.setTitle("Changed")));
+        Future<Task> missing = callers.submit(() -> writer.update(0, 2L, task -> task.setTitle("Changed")));
+
+        // Assert
+        assertEquals("Changed", existing.get().getTitle());
+        assertNull(missing.get());
+        verify(taskRepository, times(1)).findAllById(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void create_WhenOneWriteFails_ShouldRetryIndividuallyAndFailOnlyThatCaller() throws Exception {
+        // Arrange
+        writer = writer(3);
+
+        // Act
+        Future<Task> first = callers.submit(() -> writer.create(0, newTask("first")));
+        Future<Task> bad = callers.submit(() -> writer.create(0, newTask("bad")));
+        Future<Task> second = callers.submit(() -> writer.create(0, newTask("second")));
+
+        // Assert - the batch rolls back, then each write gets its own transaction
+        assertNotNull(first.get().getId());
+        assertNotNull(second.get().getId());
+        ExecutionException error = assertThrows(ExecutionException.class, bad::get);
+        assertInstanceOf(DataIntegrityViolationException.class, error.getCause());
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(1, writer.getFallbacks());
+    }
+
+    @Test
+    void update_WhenSameTaskTwiceInBatch_ShouldDeferSecondToNextBatch() throws Exception {
+        // Arrange - a short window so the deferred write doesn't wait for a full batch
+        writer = new TaskWriteBatcher(taskRepository, TaskShards.single(), new TransactionTemplate(transactionManager),
+                true, Duration.ofMillis(20), 2, 100);
+
+        // Act
+        Future<Task> first = callers.submit(() -> writer.update(0, 1L, task -> task.setTitle("A")));
+        Future<Task> second = callers.submit(() -> writer.update(0, 1L, task -> task.setTitle("B")));
+
+        // Assert
+        assertNotNull(first.get());
+        assertNotNull(second.get());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(2, writer.getBatches());
+    }
+
+    @Test
+    void stop_ShouldRejectNewWrites() {
+        // Arrange
+        writer = writer(4);
+
+        // Act
+        writer.stop();
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> writer.create(0, newTask("Task")));
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void stop_WhileBatchIsOpen_ShouldFailItsWrites() throws Exception {
+        // Arrange - two writes sit in a batch waiting out the window for a third
+        writer = writer(3);
+        Future<Task> first = callers.submit(() -> writer.create(0, newTask("first")));
+        Future<Task> second = callers.submit(() -> writer.create(0, newTask("second")));
+        // Both are drained into the batch well within the 10s window
+        Thread.sleep(300);
+        assertEquals(0, writer.getQueued());
+
+        // Act
+        writer.stop();
+
+        // Assert - callers are released instead of blocking forever
+        for (Future<Task> result : List.of(first, second)) {
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private TaskWriteBatcher writer(int maxBatchSize) {
+        return new TaskWriteBatcher(taskRepository, TaskShards.single(), new TransactionTemplate(transactionManager),
+                true, WINDOW, maxBatchSize, 100);
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static Task task(long id) {
+        Task task = newTask("Task " + id);
+        task.setId(id);
+        task.setVersion(0L);
+        return task;
+    }
+}